@@ -0,0 +1,117 @@
+package com.sotska.datastructures.benchmark;
+
+import com.sotska.datastructures.map.HashMap;
+import com.sotska.datastructures.map.Map;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HashMapBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "STRIDED"})
+    private KeyDistribution distribution;
+
+    private Integer[] keys;
+    private Integer[] lookupKeys;
+    private HashMap<Integer, Integer> filledMap;
+    private java.util.HashMap<Integer, Integer> filledJdkMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = distribution.keys(size);
+        lookupKeys = KeyDistribution.shuffled(keys);
+        filledMap = new HashMap<>();
+        filledJdkMap = new java.util.HashMap<>();
+        for (Integer key : keys) {
+            filledMap.put(key, key);
+            filledJdkMap.put(key, key);
+        }
+    }
+
+    // starts from the default bucket count, so every resize is on the measured path
+    @Benchmark
+    public HashMap<Integer, Integer> put() {
+        var map = new HashMap<Integer, Integer>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public java.util.HashMap<Integer, Integer> jdkPut() {
+        var map = new java.util.HashMap<Integer, Integer>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (Integer key : lookupKeys) {
+            blackhole.consume(filledMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void jdkGet(Blackhole blackhole) {
+        for (Integer key : lookupKeys) {
+            blackhole.consume(filledJdkMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Map.Entry<Integer, Integer> entry : filledMap) {
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    public void jdkIterate(Blackhole blackhole) {
+        for (java.util.Map.Entry<Integer, Integer> entry : filledJdkMap.entrySet()) {
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RemoveState {
+        private HashMap<Integer, Integer> map;
+        private java.util.HashMap<Integer, Integer> jdkMap;
+
+        @Setup(Level.Invocation)
+        public void setUp(HashMapBenchmark benchmark) {
+            map = new HashMap<>();
+            jdkMap = new java.util.HashMap<>();
+            for (Integer key : benchmark.keys) {
+                map.put(key, key);
+                jdkMap.put(key, key);
+            }
+        }
+    }
+
+    @Benchmark
+    public void remove(RemoveState state, Blackhole blackhole) {
+        for (Integer key : lookupKeys) {
+            blackhole.consume(state.map.remove(key));
+        }
+    }
+
+    @Benchmark
+    public void jdkRemove(RemoveState state, Blackhole blackhole) {
+        for (Integer key : lookupKeys) {
+            blackhole.consume(state.jdkMap.remove(key));
+        }
+    }
+}
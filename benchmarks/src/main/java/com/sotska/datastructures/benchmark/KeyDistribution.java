@@ -0,0 +1,59 @@
+package com.sotska.datastructures.benchmark;
+
+import java.util.Random;
+
+public enum KeyDistribution {
+    // 0, 1, 2, ... n - 1
+    SEQUENTIAL {
+        @Override
+        Integer[] keys(int size, Random random) {
+            var keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i;
+            }
+            return keys;
+        }
+    },
+    // uniformly distributed over the whole int range
+    RANDOM {
+        @Override
+        Integer[] keys(int size, Random random) {
+            var keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = random.nextInt();
+            }
+            return keys;
+        }
+    },
+    // multiples of 1024, so low bits of the hash codes are always the same
+    STRIDED {
+        @Override
+        Integer[] keys(int size, Random random) {
+            var keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i << 10;
+            }
+            return keys;
+        }
+    };
+
+    static final long SEED = 42;
+
+    abstract Integer[] keys(int size, Random random);
+
+    Integer[] keys(int size) {
+        return keys(size, new Random(SEED));
+    }
+
+    static Integer[] shuffled(Integer[] keys) {
+        var random = new Random(SEED + 1);
+        var result = keys.clone();
+        for (int i = result.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            var temp = result[i];
+            result[i] = result[j];
+            result[j] = temp;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package com.sotska.datastructures.benchmark;
+
+import com.sotska.datastructures.list.LinkedList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LinkedListBenchmark {
+
+    // number of add(value, index) calls made against an already filled list
+    private static final int MIDDLE_INSERTS = 1000;
+    // number of indexOf calls made against a filled list
+    private static final int SEARCHES = 10;
+    // number of get(index) calls, each one walks the nodes from the nearest end
+    private static final int LOOKUPS = 1000;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    private KeyDistribution distribution;
+
+    private Integer[] values;
+    private Integer[] searchValues;
+    private int[] lookupIndexes;
+    private LinkedList<Integer> filledList;
+    private java.util.LinkedList<Integer> filledJdkList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = distribution.keys(size);
+        searchValues = KeyDistribution.shuffled(values);
+        var random = new Random(KeyDistribution.SEED);
+        lookupIndexes = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupIndexes[i] = random.nextInt(size);
+        }
+        filledList = new LinkedList<>();
+        filledJdkList = new java.util.LinkedList<>();
+        for (Integer value : values) {
+            filledList.add(value);
+            filledJdkList.add(value);
+        }
+    }
+
+    @Benchmark
+    public LinkedList<Integer> add() {
+        var list = new LinkedList<Integer>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public java.util.LinkedList<Integer> jdkAdd() {
+        var list = new java.util.LinkedList<Integer>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(filledList.get(lookupIndexes[i]));
+        }
+    }
+
+    @Benchmark
+    public void jdkGet(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(filledJdkList.get(lookupIndexes[i]));
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer value : filledList) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void jdkIterate(Blackhole blackhole) {
+        for (Integer value : filledJdkList) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void indexOf(Blackhole blackhole) {
+        for (int i = 0; i < SEARCHES; i++) {
+            blackhole.consume(filledList.indexOf(searchValues[i % size]));
+        }
+    }
+
+    @Benchmark
+    public void jdkIndexOf(Blackhole blackhole) {
+        for (int i = 0; i < SEARCHES; i++) {
+            blackhole.consume(filledJdkList.indexOf(searchValues[i % size]));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class InsertState {
+        private LinkedList<Integer> list;
+        private java.util.LinkedList<Integer> jdkList;
+
+        @Setup(Level.Invocation)
+        public void setUp(LinkedListBenchmark benchmark) {
+            list = new LinkedList<>();
+            jdkList = new java.util.LinkedList<>();
+            for (Integer value : benchmark.values) {
+                list.add(value);
+                jdkList.add(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public LinkedList<Integer> addByIndex(InsertState state) {
+        for (int i = 0; i < MIDDLE_INSERTS; i++) {
+            state.list.add(values[i % size], state.list.size() / 2);
+        }
+        return state.list;
+    }
+
+    @Benchmark
+    public java.util.LinkedList<Integer> jdkAddByIndex(InsertState state) {
+        for (int i = 0; i < MIDDLE_INSERTS; i++) {
+            state.jdkList.add(state.jdkList.size() / 2, values[i % size]);
+        }
+        return state.jdkList;
+    }
+}
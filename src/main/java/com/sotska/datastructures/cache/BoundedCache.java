@@ -0,0 +1,327 @@
+package com.sotska.datastructures.cache;
+
+import com.sotska.datastructures.map.HashMap;
+import com.sotska.datastructures.map.Map;
+
+import java.util.Iterator;
+
+// Cache of bounded total weight (number of entries unless a Weigher is given).
+// A HashMap finds the node of a key, nodes are also linked into doubly linked access order lists
+// (prev/next like LinkedList nodes), so get, put and eviction are O(1).
+// LRU keeps a single list and evicts its least recently used node.
+// W_TINY_LFU keeps a window list (1% of the weight) that every new entry enters first and
+// a main segmented LRU made of probation and protected lists. An entry pushed out of the window
+// stays only if it was seen more often than the probation entry it would replace, which keeps
+// popular entries in the cache when a scan touches many keys once.
+public class BoundedCache<K, V> implements Map<K, V> {
+
+    private static final double WINDOW_PERCENTAGE = 0.01;
+    private static final double PROTECTED_PERCENTAGE = 0.8;
+
+    private final HashMap<K, Node<K, V>> nodes = new HashMap<>();
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final EvictionPolicy evictionPolicy;
+    private final AccessOrderList<K, V> window = new AccessOrderList<>();
+    private final AccessOrderList<K, V> probation = new AccessOrderList<>();
+    private final AccessOrderList<K, V> protectedList = new AccessOrderList<>();
+    private final long windowMaximumWeight;
+    private final long protectedMaximumWeight;
+    private final FrequencySketch sketch;
+    private long weightedSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public BoundedCache(long maximumSize, EvictionPolicy evictionPolicy) {
+        this(maximumSize, (key, value) -> 1, evictionPolicy);
+    }
+
+    public BoundedCache(long maximumWeight, Weigher<? super K, ? super V> weigher, EvictionPolicy evictionPolicy) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight should not be negative. Current maximum weight is " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.evictionPolicy = evictionPolicy;
+        if (evictionPolicy == EvictionPolicy.W_TINY_LFU) {
+            windowMaximumWeight = Math.max(1, (long) (maximumWeight * WINDOW_PERCENTAGE));
+            protectedMaximumWeight = (long) ((maximumWeight - windowMaximumWeight) * PROTECTED_PERCENTAGE);
+            sketch = new FrequencySketch(maximumWeight);
+        } else {
+            windowMaximumWeight = 0;
+            protectedMaximumWeight = 0;
+            sketch = null;
+        }
+    }
+
+    public static <K, V> BoundedCache<K, V> lru(long maximumSize) {
+        return new BoundedCache<>(maximumSize, EvictionPolicy.LRU);
+    }
+
+    public static <K, V> BoundedCache<K, V> windowTinyLfu(long maximumSize) {
+        return new BoundedCache<>(maximumSize, EvictionPolicy.W_TINY_LFU);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight should not be negative. Current weight is " + weight);
+        }
+        recordAccess(key);
+        var node = nodes.get(key);
+        if (node != null) {
+            var previousValue = node.value;
+            node.value = value;
+            listOf(node).changeWeight(node, weight);
+            weightedSize += weight - node.weight;
+            node.weight = weight;
+            onHit(node);
+            evict();
+            return previousValue;
+        }
+        node = new Node<>(key, value, weight);
+        nodes.put(key, node);
+        weightedSize += weight;
+        if (evictionPolicy == EvictionPolicy.W_TINY_LFU) {
+            node.queue = Queue.WINDOW;
+            window.addLast(node);
+        } else {
+            node.queue = Queue.PROBATION;
+            probation.addLast(node);
+        }
+        evict();
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        recordAccess(key);
+        var node = nodes.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onHit(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return nodes.containsKey(key);
+    }
+
+    @Override
+    public V remove(K key) {
+        var node = nodes.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new BoundedCacheIterator();
+    }
+
+    private void recordAccess(K key) {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+    }
+
+    private void onHit(Node<K, V> node) {
+        if (node.queue == Queue.PROBATION && evictionPolicy == EvictionPolicy.W_TINY_LFU) {
+            probation.remove(node);
+            node.queue = Queue.PROTECTED;
+            protectedList.addLast(node);
+            while (protectedList.weight > protectedMaximumWeight && protectedList.first != node) {
+                var demoted = protectedList.first;
+                protectedList.remove(demoted);
+                demoted.queue = Queue.PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            listOf(node).moveToLast(node);
+        }
+    }
+
+    private void evict() {
+        if (evictionPolicy == EvictionPolicy.LRU) {
+            while (weightedSize > maximumWeight) {
+                evict(probation.first);
+            }
+            return;
+        }
+        Node<K, V> firstCandidate = null;
+        while (window.weight > windowMaximumWeight) {
+            var candidate = window.first;
+            window.remove(candidate);
+            candidate.queue = Queue.PROBATION;
+            probation.addLast(candidate);
+            if (firstCandidate == null) {
+                firstCandidate = candidate;
+            }
+        }
+        // candidates that just left the window compete with probation entries from its LRU end
+        while (weightedSize > maximumWeight) {
+            var victim = probation.first;
+            if (victim == null) {
+                evict(protectedList.first != null ? protectedList.first : window.first);
+            } else if (firstCandidate == null || victim == firstCandidate) {
+                if (victim == firstCandidate) {
+                    firstCandidate = firstCandidate.next;
+                }
+                evict(victim);
+            } else {
+                var candidate = firstCandidate;
+                firstCandidate = candidate.next;
+                if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    evict(victim);
+                } else {
+                    evict(candidate);
+                }
+            }
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        nodes.remove(node.key);
+        unlink(node);
+        evictionCount++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        listOf(node).remove(node);
+        weightedSize -= node.weight;
+    }
+
+    private AccessOrderList<K, V> listOf(Node<K, V> node) {
+        return switch (node.queue) {
+            case WINDOW -> window;
+            case PROBATION -> probation;
+            case PROTECTED -> protectedList;
+        };
+    }
+
+    private class BoundedCacheIterator implements Iterator<Map.Entry<K, V>> {
+        private final Iterator<Map.Entry<K, Node<K, V>>> nodeIterator = nodes.iterator();
+        private Node<K, V> lastReturned;
+
+        @Override
+        public boolean hasNext() {
+            return nodeIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            lastReturned = nodeIterator.next().getValue();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            nodeIterator.remove();
+            unlink(lastReturned);
+        }
+    }
+
+    private enum Queue {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    // doubly linked list from the least (first) to the most (last) recently used node
+    private static class AccessOrderList<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+        private long weight;
+
+        private void addLast(Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            weight += node.weight;
+        }
+
+        private void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = node.next = null;
+            weight -= node.weight;
+        }
+
+        private void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void changeWeight(Node<K, V> node, int newWeight) {
+            weight += newWeight - node.weight;
+        }
+    }
+
+    private static class Node<K, V> implements Map.Entry<K, V> {
+        private final K key;
+        private V value;
+        private int weight;
+        private Queue queue;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.sotska.datastructures.cache;
+
+public enum EvictionPolicy {
+    // evicts the least recently used entry
+    LRU,
+    // new entries pass a small LRU window, then may replace an entry of the main segmented LRU
+    // only if the frequency sketch says they are used more often than the entry they would replace
+    W_TINY_LFU
+}
@@ -0,0 +1,69 @@
+package com.sotska.datastructures.cache;
+
+import java.util.Objects;
+
+// Count-min sketch with 4 bit counters that estimates how often a key was seen recently.
+// Every key maps to one counter in each of 4 rows, the estimate is the smallest of them.
+// After sampleSize increments all counters are halved, so old popularity fades away.
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_COUNTER = 15;
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 24;
+
+    // every long holds 16 counters of 4 bits
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long expectedSize) {
+        int tableSize = (int) Math.min(Math.max(Long.highestOneBit(Math.max(expectedSize, 16) - 1) << 1, 16), MAXIMUM_TABLE_SIZE);
+        table = new long[tableSize];
+        tableMask = tableSize - 1;
+        sampleSize = 10 * tableSize;
+    }
+
+    void increment(Object key) {
+        int hash = spread(Objects.hashCode(key));
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long rowHash = hash * SEEDS[row];
+            int index = (int) (rowHash >>> 32) & tableMask;
+            int offset = (int) (rowHash >>> 60) << 2;
+            if (((table[index] >>> offset) & MAXIMUM_COUNTER) != MAXIMUM_COUNTER) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = spread(Objects.hashCode(key));
+        int frequency = MAXIMUM_COUNTER;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long rowHash = hash * SEEDS[row];
+            int index = (int) (rowHash >>> 32) & tableMask;
+            int offset = (int) (rowHash >>> 60) << 2;
+            frequency = Math.min(frequency, (int) ((table[index] >>> offset) & MAXIMUM_COUNTER));
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
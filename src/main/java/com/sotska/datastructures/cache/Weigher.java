@@ -0,0 +1,7 @@
+package com.sotska.datastructures.cache;
+
+@FunctionalInterface
+public interface Weigher<K, V> {
+    // weight of the entry counted against the maximum weight of the cache, should not be negative
+    int weigh(K key, V value);
+}
@@ -0,0 +1,37 @@
+package com.sotska.datastructures.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+// Channels may transfer fewer bytes than asked for, these helpers loop until the whole buffer is done.
+public final class ChannelIO {
+
+    private ChannelIO() {
+    }
+
+    // writes the bytes between position and limit of the buffer
+    public static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // writes the bytes put into the buffer so far and clears it for the next ones
+    public static void flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    // fills the buffer from position to limit, throws EOFException if the channel ends before that
+    public static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Channel ended " + buffer.remaining() + " bytes before the expected end.");
+            }
+        }
+    }
+}
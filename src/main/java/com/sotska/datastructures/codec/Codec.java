@@ -0,0 +1,15 @@
+package com.sotska.datastructures.codec;
+
+import java.nio.ByteBuffer;
+
+// Turns values into bytes and back, used by collections that keep their data outside of the Java heap.
+public interface Codec<T> {
+    // number of bytes write(value, buffer) puts into the buffer
+    int sizeOf(T value);
+
+    // writes exactly sizeOf(value) bytes starting at the current position of the buffer
+    void write(T value, ByteBuffer buffer);
+
+    // reads a value of length bytes starting at the current position of the buffer
+    T read(ByteBuffer buffer, int length);
+}
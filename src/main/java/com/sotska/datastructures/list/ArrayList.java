@@ -1,6 +1,9 @@
 package com.sotska.datastructures.list;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public class ArrayList<T> implements List<T> {
 
@@ -116,6 +119,62 @@ public class ArrayList<T> implements List<T> {
         return new ArrayListIterator<>();
     }
 
+    // grows the array once for all new elements
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addAll(List<? extends T> other) {
+        int otherSize = other.size();
+        ensureCapacity(size + otherSize);
+        if (other instanceof ArrayList) {
+            System.arraycopy(((ArrayList<? extends T>) other).array, 0, array, size, otherSize);
+        } else {
+            int index = size;
+            for (T value : other) {
+                array[index++] = value;
+            }
+        }
+        size += otherSize;
+    }
+
+    // kept elements are moved to the front in one pass instead of an arraycopy per removed element
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        int keptCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(array[i])) {
+                array[keptCount++] = array[i];
+            }
+        }
+        if (keptCount == size) {
+            return false;
+        }
+        Arrays.fill(array, keptCount, size, null);
+        size = keptCount;
+        return true;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        for (int i = 0; i < size; i++) {
+            array[i] = operator.apply(array[i]);
+        }
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        Arrays.sort(array, 0, size, comparator);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(array, size, Object[].class);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArrayListSpliterator(0, size);
+    }
+
     private void validateIndex(int index) {
         if (index < 0 || index > size - 1) {
             throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
@@ -137,6 +196,13 @@ public class ArrayList<T> implements List<T> {
         }
     }
 
+    // keeps one free slot after requiredSize elements like the single element ensureCapacity does
+    private void ensureCapacity(int requiredSize) {
+        if (requiredSize >= array.length - 1) {
+            array = Arrays.copyOf(array, Math.max(requiredSize + 1, (int) (array.length * loadFactor)));
+        }
+    }
+
     private class ArrayListIterator<E> implements Iterator<T> {
         private int currentIteratorIndex = 0;
         private boolean isCurrentElementCanBeRemoved;
@@ -167,4 +233,53 @@ public class ArrayList<T> implements List<T> {
             }
         }
     }
-}
\ No newline at end of file
+
+    // covers the index range [index, fence) and hands the lower half to a new spliterator on split
+    private class ArrayListSpliterator implements Spliterator<T> {
+        private int index;
+        private final int fence;
+
+        private ArrayListSpliterator(int origin, int fence) {
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public ArrayListSpliterator trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            var prefix = new ArrayListSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(array[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            var elements = array;
+            for (; index < fence; index++) {
+                action.accept(elements[index]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
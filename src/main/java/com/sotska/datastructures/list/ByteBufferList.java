@@ -0,0 +1,246 @@
+package com.sotska.datastructures.list;
+
+import com.sotska.datastructures.codec.ChannelIO;
+import com.sotska.datastructures.codec.Codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+// Read only list over elements serialized into a buffer, every get decodes just the element it returns.
+// write() streams any list through a channel in a compact binary form, read() loads it from a channel
+// into one buffer and wrap() serves a buffer that already holds it (for example a mapped file) without copying.
+// Gets keep no mutable state, so threads may share one list.
+//
+// Layout (big endian):
+// header   [int magic][int version][int size]
+// offsets  (size + 1) x [int offset of the element from the start of data], the last one is the data length,
+//          the highest bit of an offset marks a null element
+// data     element bytes back to back, an element ends where the next one starts
+public class ByteBufferList<T> implements List<T> {
+
+    private static final int MAGIC = 0x5344424C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 3;
+    private static final int NULL_FLAG = 1 << 31;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final Codec<T> codec;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int dataOffset;
+
+    private ByteBufferList(Codec<T> codec, ByteBuffer buffer) {
+        this.codec = codec;
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.dataOffset = HEADER_SIZE + (size + 1) * Integer.BYTES;
+    }
+
+    // elements are encoded straight into a small write buffer, nothing is collected in memory
+    public static <T> void write(List<? extends T> list, WritableByteChannel channel, Codec<T> codec) throws IOException {
+        var buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(list.size());
+        long offset = 0;
+        for (T element : list) {
+            if (buffer.remaining() < Integer.BYTES) {
+                ChannelIO.flush(channel, buffer);
+            }
+            buffer.putInt(element == null ? (int) offset | NULL_FLAG : (int) offset);
+            offset += element == null ? 0 : codec.sizeOf(element);
+            if (offset > Integer.MAX_VALUE - HEADER_SIZE - (list.size() + 1L) * Integer.BYTES) {
+                throw new IllegalArgumentException("List should not take more than " + Integer.MAX_VALUE
+                        + " bytes. Current list takes more than " + offset);
+            }
+        }
+        if (buffer.remaining() < Integer.BYTES) {
+            ChannelIO.flush(channel, buffer);
+        }
+        buffer.putInt((int) offset);
+        for (T element : list) {
+            if (element == null) {
+                continue;
+            }
+            int elementSize = codec.sizeOf(element);
+            if (buffer.remaining() < elementSize) {
+                ChannelIO.flush(channel, buffer);
+            }
+            if (elementSize > buffer.capacity()) {
+                var elementBuffer = ByteBuffer.allocate(elementSize);
+                codec.write(element, elementBuffer);
+                ChannelIO.flush(channel, elementBuffer);
+            } else {
+                codec.write(element, buffer);
+            }
+        }
+        ChannelIO.flush(channel, buffer);
+    }
+
+    // reads a list written by write() into one heap buffer, elements are decoded on access
+    public static <T> ByteBufferList<T> read(ReadableByteChannel channel, Codec<T> codec) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE);
+        ChannelIO.readFully(channel, header);
+        checkHeader(header);
+        int size = header.getInt(8);
+        var offsets = ByteBuffer.allocate((size + 1) * Integer.BYTES);
+        ChannelIO.readFully(channel, offsets);
+        int dataLength = offsets.getInt(size * Integer.BYTES);
+        var buffer = ByteBuffer.allocate(HEADER_SIZE + offsets.capacity() + dataLength);
+        buffer.put(header.flip()).put(offsets.flip());
+        ChannelIO.readFully(channel, buffer);
+        return new ByteBufferList<>(codec, buffer.flip());
+    }
+
+    // list over a serialized list held in the buffer between its position and limit, nothing is copied or decoded
+    public static <T> ByteBufferList<T> wrap(ByteBuffer buffer, Codec<T> codec) throws IOException {
+        var serialized = buffer.slice();
+        if (serialized.remaining() < HEADER_SIZE) {
+            throw new IOException("Buffer does not hold a list.");
+        }
+        checkHeader(serialized);
+        long offsetsEnd = HEADER_SIZE + (serialized.getInt(8) + 1L) * Integer.BYTES;
+        if (offsetsEnd > serialized.remaining()
+                || offsetsEnd + serialized.getInt((int) offsetsEnd - Integer.BYTES) > serialized.remaining()) {
+            throw new IOException("List does not fit into the " + serialized.remaining() + " bytes of the buffer.");
+        }
+        return new ByteBufferList<>(codec, serialized);
+    }
+
+    @Override
+    public void add(T value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void add(T value, int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public T remove(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public T set(T value, int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        return elementAt(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(elementAt(i), value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(elementAt(i), value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Object[] toArray() {
+        var array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = elementAt(i);
+        }
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        var stringJoiner = new StringJoiner(", ", "[", "]");
+        this.forEach(element -> stringJoiner.add(String.valueOf(element)));
+
+        return stringJoiner.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ByteBufferListIterator();
+    }
+
+    private T elementAt(int index) {
+        int offset = buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+        if ((offset & NULL_FLAG) != 0) {
+            return null;
+        }
+        int length = (buffer.getInt(HEADER_SIZE + (index + 1) * Integer.BYTES) & ~NULL_FLAG) - offset;
+        return codec.read(buffer.slice(dataOffset + offset, length), length);
+    }
+
+    private static void checkHeader(ByteBuffer header) throws IOException {
+        if (header.getInt(0) != MAGIC || header.getInt(8) < 0) {
+            throw new IOException("Data is not a serialized list.");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported list version " + header.getInt(4));
+        }
+    }
+
+    private void validateIndex(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Byte buffer list is read only.");
+    }
+
+    private class ByteBufferListIterator implements Iterator<T> {
+        private int currentIteratorIndex;
+
+        @Override
+        public boolean hasNext() {
+            return currentIteratorIndex < size;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elementAt(currentIteratorIndex++);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.sotska.datastructures.list;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+// ArrayList over a ring buffer: elements start at head and wrap around the end of the array.
+// Adding or removing at either end is O(1), in the middle only the shorter side is shifted.
+// The array grows the same way as in ArrayList, by loadFactor times.
+public class CircularArrayList<T> implements List<T> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 5;
+    private static final double DEFAULT_LOAD_FACTOR = 1.5;
+    private int size;
+    private int head;
+    private Object[] array;
+    private final double loadFactor;
+
+    public CircularArrayList() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public CircularArrayList(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public CircularArrayList(int capacity, double loadFactor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should not be negative. Current capacity is " + capacity);
+        }
+        if (loadFactor <= 1) {
+            throw new IllegalArgumentException("Load factor should be greater than 1. Current load factor is " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        array = new Object[capacity];
+    }
+
+    @Override
+    public void add(T value) {
+        addLast(value);
+    }
+
+    @Override
+    public void add(T value, int index) {
+        validateIndexForAdd(index);
+        ensureCapacity();
+        if (index < size / 2) {
+            head = physicalIndex(-1);
+            for (int i = 0; i < index; i++) {
+                array[physicalIndex(i)] = array[physicalIndex(i + 1)];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                array[physicalIndex(i)] = array[physicalIndex(i - 1)];
+            }
+        }
+        array[physicalIndex(index)] = value;
+        size++;
+    }
+
+    public void addFirst(T value) {
+        add(value, 0);
+    }
+
+    public void addLast(T value) {
+        add(value, size);
+    }
+
+    @Override
+    public T remove(int index) {
+        validateIndex(index);
+        var elementForRemove = elementAt(index);
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                array[physicalIndex(i)] = array[physicalIndex(i - 1)];
+            }
+            array[head] = null;
+            head = physicalIndex(1);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                array[physicalIndex(i)] = array[physicalIndex(i + 1)];
+            }
+            array[physicalIndex(size - 1)] = null;
+        }
+        size--;
+        return elementForRemove;
+    }
+
+    public T removeFirst() {
+        return remove(0);
+    }
+
+    public T removeLast() {
+        return remove(size - 1);
+    }
+
+    @Override
+    public T get(int index) {
+        validateIndex(index);
+        return elementAt(index);
+    }
+
+    public T getFirst() {
+        return get(0);
+    }
+
+    public T getLast() {
+        return get(size - 1);
+    }
+
+    @Override
+    public T set(T value, int index) {
+        validateIndex(index);
+        var oldValue = elementAt(index);
+        array[physicalIndex(index)] = value;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            array[physicalIndex(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        var stringJoiner = new StringJoiner(", ", "[", "]");
+        this.forEach(element -> stringJoiner.add(String.valueOf(element)));
+
+        return stringJoiner.toString();
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(elementAt(i), value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(elementAt(i), value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new CircularArrayListIterator();
+    }
+
+    // index in the array of the element at the given list index, -1 is the slot before head
+    private int physicalIndex(int index) {
+        var physicalIndex = head + index;
+        if (physicalIndex >= array.length) {
+            return physicalIndex - array.length;
+        }
+        return physicalIndex < 0 ? physicalIndex + array.length : physicalIndex;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) array[physicalIndex(index)];
+    }
+
+    private void validateIndex(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private void validateIndexForAdd(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    // unwraps the elements to the start of the new array
+    private void ensureCapacity() {
+        if (size == array.length) {
+            var newArray = new Object[Math.max(size + 1, (int) (array.length * loadFactor))];
+            var firstPartLength = Math.min(size, array.length - head);
+            System.arraycopy(array, head, newArray, 0, firstPartLength);
+            System.arraycopy(array, 0, newArray, firstPartLength, size - firstPartLength);
+            array = newArray;
+            head = 0;
+        }
+    }
+
+    private class CircularArrayListIterator implements Iterator<T> {
+        private int currentIteratorIndex = 0;
+        private boolean isCurrentElementCanBeRemoved;
+
+        @Override
+        public boolean hasNext() {
+            return currentIteratorIndex < size;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T nextElement = elementAt(currentIteratorIndex);
+            currentIteratorIndex++;
+            isCurrentElementCanBeRemoved = true;
+            return nextElement;
+        }
+
+        @Override
+        public void remove() {
+            if (isCurrentElementCanBeRemoved) {
+                CircularArrayList.this.remove(--currentIteratorIndex);
+                isCurrentElementCanBeRemoved = false;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.sotska.datastructures.list;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+// Thread safe list for data which is read often and changed rarely.
+// Elements are kept in an array that is never changed after it is published through a volatile field,
+// so reads take no locks and iterators walk the snapshot they started with.
+// Writers are serialized by a lock, every write copies the array, changes the copy and publishes it.
+// update(batch) applies many changes to one ArrayList copy, so they cost two array copies (into the ArrayList
+// and back) and one publication however many changes there are. removeIf, replaceAll and sort copy once.
+public class CopyOnWriteArrayList<T> implements List<T> {
+
+    private final Object lock = new Object();
+    private volatile Object[] array = new Object[0];
+
+    @Override
+    public void add(T value) {
+        synchronized (lock) {
+            var snapshot = array;
+            var newArray = Arrays.copyOf(snapshot, snapshot.length + 1);
+            newArray[snapshot.length] = value;
+            array = newArray;
+        }
+    }
+
+    @Override
+    public void add(T value, int index) {
+        synchronized (lock) {
+            var snapshot = array;
+            validateIndexForAdd(index, snapshot.length);
+            var newArray = new Object[snapshot.length + 1];
+            System.arraycopy(snapshot, 0, newArray, 0, index);
+            System.arraycopy(snapshot, index, newArray, index + 1, snapshot.length - index);
+            newArray[index] = value;
+            array = newArray;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        synchronized (lock) {
+            var snapshot = array;
+            validateIndex(index, snapshot.length);
+            var newArray = new Object[snapshot.length - 1];
+            System.arraycopy(snapshot, 0, newArray, 0, index);
+            System.arraycopy(snapshot, index + 1, newArray, index, snapshot.length - index - 1);
+            array = newArray;
+            return (T) snapshot[index];
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        var snapshot = array;
+        validateIndex(index, snapshot.length);
+        return (T) snapshot[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(T value, int index) {
+        synchronized (lock) {
+            var snapshot = array;
+            validateIndex(index, snapshot.length);
+            var newArray = snapshot.clone();
+            newArray[index] = value;
+            array = newArray;
+            return (T) snapshot[index];
+        }
+    }
+
+    // applies all changes the batch makes to a mutable copy of the list and publishes the result once,
+    // readers see either none or all of them
+    public void update(Consumer<? super ArrayList<T>> batch) {
+        synchronized (lock) {
+            var copy = copyOf(array);
+            batch.accept(copy);
+            array = copy.toArray();
+        }
+    }
+
+    @Override
+    public void addAll(List<? extends T> other) {
+        var otherElements = other.toArray();
+        synchronized (lock) {
+            var snapshot = array;
+            var newArray = Arrays.copyOf(snapshot, snapshot.length + otherElements.length);
+            System.arraycopy(otherElements, 0, newArray, snapshot.length, otherElements.length);
+            array = newArray;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        synchronized (lock) {
+            var snapshot = array;
+            // the filter runs once per element, the kept ones are copied straight into an array of the final size
+            var removed = new boolean[snapshot.length];
+            int keptCount = snapshot.length;
+            for (int i = 0; i < snapshot.length; i++) {
+                if (filter.test((T) snapshot[i])) {
+                    removed[i] = true;
+                    keptCount--;
+                }
+            }
+            if (keptCount == snapshot.length) {
+                return false;
+            }
+            var newArray = new Object[keptCount];
+            int index = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                if (!removed[i]) {
+                    newArray[index++] = snapshot[i];
+                }
+            }
+            array = newArray;
+            return true;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<T> operator) {
+        synchronized (lock) {
+            var newArray = array.clone();
+            for (int i = 0; i < newArray.length; i++) {
+                newArray[i] = operator.apply((T) newArray[i]);
+            }
+            array = newArray;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> comparator) {
+        synchronized (lock) {
+            var newArray = array.clone();
+            Arrays.sort(newArray, (Comparator<Object>) comparator);
+            array = newArray;
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        return array.clone();
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            array = new Object[0];
+        }
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        var snapshot = array;
+        for (int i = 0; i < snapshot.length; i++) {
+            if (Objects.equals(snapshot[i], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        var snapshot = array;
+        for (int i = snapshot.length - 1; i >= 0; i--) {
+            if (Objects.equals(snapshot[i], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        var stringJoiner = new StringJoiner(", ", "[", "]");
+        this.forEach(element -> stringJoiner.add(String.valueOf(element)));
+
+        return stringJoiner.toString();
+    }
+
+    // iterates the snapshot taken when the iterator was created, later writes are not seen
+    @Override
+    public Iterator<T> iterator() {
+        return new SnapshotIterator(array);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArrayList<T> copyOf(Object[] snapshot) {
+        // ArrayList grows once its array has a single free slot left, two extra slots avoid a copy here
+        var copy = new ArrayList<T>(snapshot.length + 2);
+        for (Object element : snapshot) {
+            copy.add((T) element);
+        }
+        return copy;
+    }
+
+    private void validateIndex(int index, int size) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private void validateIndexForAdd(int index, int size) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private class SnapshotIterator implements Iterator<T> {
+        private final Object[] snapshot;
+        private int currentIteratorIndex;
+
+        private SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentIteratorIndex < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (T) snapshot[currentIteratorIndex++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Snapshot iterator does not support remove.");
+        }
+    }
+}
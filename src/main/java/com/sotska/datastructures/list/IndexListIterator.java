@@ -0,0 +1,83 @@
+package com.sotska.datastructures.list;
+
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+// ListIterator over any List by index, cursor is the index of the element next() returns
+class IndexListIterator<T> implements ListIterator<T> {
+    private final List<T> list;
+    private int cursor;
+    private int lastReturnedIndex = -1;
+
+    IndexListIterator(List<T> list, int index) {
+        if (index < 0 || index > list.size()) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + list.size() + " Current index is " + index);
+        }
+        this.list = list;
+        this.cursor = index;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor < list.size();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        lastReturnedIndex = cursor++;
+        return list.get(lastReturnedIndex);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return cursor > 0;
+    }
+
+    @Override
+    public T previous() {
+        if (!hasPrevious()) {
+            throw new NoSuchElementException();
+        }
+        lastReturnedIndex = --cursor;
+        return list.get(lastReturnedIndex);
+    }
+
+    @Override
+    public int nextIndex() {
+        return cursor;
+    }
+
+    @Override
+    public int previousIndex() {
+        return cursor - 1;
+    }
+
+    @Override
+    public void remove() {
+        if (lastReturnedIndex == -1) {
+            throw new IllegalStateException();
+        }
+        list.remove(lastReturnedIndex);
+        if (lastReturnedIndex < cursor) {
+            cursor--;
+        }
+        lastReturnedIndex = -1;
+    }
+
+    @Override
+    public void set(T value) {
+        if (lastReturnedIndex == -1) {
+            throw new IllegalStateException();
+        }
+        list.set(value, lastReturnedIndex);
+    }
+
+    @Override
+    public void add(T value) {
+        list.add(value, cursor++);
+        lastReturnedIndex = -1;
+    }
+}
@@ -1,14 +1,29 @@
 package com.sotska.datastructures.list;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public class LinkedList<T> implements List<T> {
 
+    // first batch handed out by trySplit, every next one is BATCH_STEP elements bigger
+    private static final int BATCH_STEP = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
     private Node<T> firstNode;
     private Node<T> lastNode;
     private int size;
+    // last node found by getNode and its index, a lookup near it starts from there instead of an end
+    private Node<T> fingerNode;
+    private int fingerIndex;
 
     @Override
     public void add(T value) {
@@ -18,31 +33,25 @@ public class LinkedList<T> implements List<T> {
     @Override
     public void add(T value, int index) {
         checkIndexForAdd(index);
-        var newNode = new Node<>(value);
-        if (size == 0) {
-            firstNode = lastNode = newNode;
-        } else if (index == size) {
-            lastNode.nextNode = newNode;
-            newNode.previousNode = lastNode;
-            lastNode = newNode;
-        } else if (index == 0) {
-            firstNode.previousNode = newNode;
-            newNode.nextNode = firstNode;
-            firstNode = newNode;
-        } else {
-            var previousElement = getNode(index - 1);
-            newNode.previousNode = previousElement;
-            newNode.nextNode = previousElement.nextNode;
-            previousElement.nextNode.previousNode = newNode;
-            previousElement.nextNode = newNode;
-        }
-        size++;
+        linkBefore(value, index == size ? null : getNode(index), index);
     }
 
     @Override
     public T remove(int index) {
         checkIndex(index);
-        return remove(getNode(index));
+        var nodeToRemove = getNode(index);
+        var nextNode = nodeToRemove.nextNode;
+        var previousNode = nodeToRemove.previousNode;
+        var value = remove(nodeToRemove);
+        // keeps the finger next to the removed node, so removing in a loop stays O(1) per element
+        if (nextNode != null) {
+            fingerNode = nextNode;
+            fingerIndex = index;
+        } else if (previousNode != null) {
+            fingerNode = previousNode;
+            fingerIndex = index - 1;
+        }
+        return value;
     }
 
     @Override
@@ -62,7 +71,7 @@ public class LinkedList<T> implements List<T> {
 
     @Override
     public void clear() {
-        firstNode = lastNode = null;
+        firstNode = lastNode = fingerNode = null;
         size = 0;
     }
 
@@ -119,34 +128,152 @@ public class LinkedList<T> implements List<T> {
         return new Iterator<>();
     }
 
+    // new nodes are linked to each other first and the whole chain is spliced after the last node
+    @Override
+    public void addAll(List<? extends T> other) {
+        int otherSize = other.size();
+        if (otherSize == 0) {
+            return;
+        }
+        var iterator = other.iterator();
+        var chainFirst = new Node<T>(iterator.next());
+        var chainLast = chainFirst;
+        for (int i = 1; i < otherSize; i++) {
+            var newNode = new Node<T>(iterator.next());
+            newNode.previousNode = chainLast;
+            chainLast.nextNode = newNode;
+            chainLast = newNode;
+        }
+        if (lastNode == null) {
+            firstNode = chainFirst;
+        } else {
+            lastNode.nextNode = chainFirst;
+            chainFirst.previousNode = lastNode;
+        }
+        lastNode = chainLast;
+        size += otherSize;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        int oldSize = size;
+        var currentNode = firstNode;
+        while (currentNode != null) {
+            var nextNode = currentNode.nextNode;
+            if (filter.test(currentNode.value)) {
+                remove(currentNode);
+            }
+            currentNode = nextNode;
+        }
+        return size != oldSize;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        for (var currentNode = firstNode; currentNode != null; currentNode = currentNode.nextNode) {
+            currentNode.value = operator.apply(currentNode.value);
+        }
+    }
+
+    // values are sorted in an array and written back, nodes stay where they are
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> comparator) {
+        var values = toArray();
+        Arrays.sort(values, (Comparator<Object>) comparator);
+        var currentNode = firstNode;
+        for (Object value : values) {
+            currentNode.value = (T) value;
+            currentNode = currentNode.nextNode;
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        var values = new Object[size];
+        var currentNode = firstNode;
+        for (int i = 0; i < size; i++) {
+            values[i] = currentNode.value;
+            currentNode = currentNode.nextNode;
+        }
+        return values;
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new LinkedListSpliterator(firstNode, size);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        checkIndexForAdd(index);
+        return new LinkedListIterator(index);
+    }
+
+    // starts from the first node, the last node or the finger, whichever is the closest
     private Node<T> getNode(int index) {
         Node<T> currentNode;
+        int currentIndex;
         if (index > size / 2) {
             currentNode = lastNode;
-            for (int i = 0; i < size - index - 1; i++) {
-                currentNode = currentNode.previousNode;
-            }
+            currentIndex = size - 1;
         } else {
             currentNode = firstNode;
-            for (int i = 0; i < index; i++) {
-                currentNode = currentNode.nextNode;
-            }
+            currentIndex = 0;
         }
+        if (fingerNode != null && Math.abs(index - fingerIndex) < Math.abs(index - currentIndex)) {
+            currentNode = fingerNode;
+            currentIndex = fingerIndex;
+        }
+        for (; currentIndex < index; currentIndex++) {
+            currentNode = currentNode.nextNode;
+        }
+        for (; currentIndex > index; currentIndex--) {
+            currentNode = currentNode.previousNode;
+        }
+        fingerNode = currentNode;
+        fingerIndex = index;
         return currentNode;
     }
 
+    // successor null means adding after the last node
+    private void linkBefore(T value, Node<T> successor, int index) {
+        var newNode = new Node<>(value);
+        var predecessor = successor == null ? lastNode : successor.previousNode;
+        newNode.previousNode = predecessor;
+        newNode.nextNode = successor;
+        if (predecessor == null) {
+            firstNode = newNode;
+        } else {
+            predecessor.nextNode = newNode;
+        }
+        if (successor == null) {
+            lastNode = newNode;
+        } else {
+            successor.previousNode = newNode;
+        }
+        if (fingerNode != null && index <= fingerIndex) {
+            fingerIndex++;
+        }
+        size++;
+    }
+
     private T remove(Node<T> nodeToRemove) {
-        if (nodeToRemove == firstNode) {
-            firstNode = firstNode.nextNode;
-        } else if (nodeToRemove == lastNode) {
-            lastNode = lastNode.previousNode;
-        } else if (size == 1) {
-            nodeToRemove = firstNode;
-            firstNode = lastNode = null;
+        var previousNode = nodeToRemove.previousNode;
+        var nextNode = nodeToRemove.nextNode;
+        if (previousNode == null) {
+            firstNode = nextNode;
+        } else {
+            previousNode.nextNode = nextNode;
+        }
+        if (nextNode == null) {
+            lastNode = previousNode;
         } else {
-            nodeToRemove.previousNode.nextNode = nodeToRemove.nextNode;
-            nodeToRemove.nextNode.previousNode = nodeToRemove.previousNode;
+            nextNode.previousNode = previousNode;
         }
+        nodeToRemove.previousNode = nodeToRemove.nextNode = null;
+        // index of the removed node is unknown here, so the finger can't be shifted
+        fingerNode = null;
         size--;
         return nodeToRemove.value;
     }
@@ -165,7 +292,7 @@ public class LinkedList<T> implements List<T> {
 
     class Iterator<E> implements java.util.Iterator<T> {
         private Node<T> currentElement = firstNode;
-        private boolean canBeRemoved;
+        private Node<T> lastReturned;
 
         @Override
         public boolean hasNext() {
@@ -178,23 +305,153 @@ public class LinkedList<T> implements List<T> {
                 throw new NoSuchElementException();
             }
 
-            T value = currentElement.value;
+            lastReturned = currentElement;
             currentElement = currentElement.nextNode;
-            canBeRemoved = true;
-            return value;
+            return lastReturned.value;
         }
 
         @Override
         public void remove() {
-            if (canBeRemoved) {
-                LinkedList.this.remove(currentElement);
-                canBeRemoved = false;
+            if (lastReturned != null) {
+                LinkedList.this.remove(lastReturned);
+                lastReturned = null;
             } else {
                 throw new IllegalStateException();
             }
         }
     }
 
+    private class LinkedListIterator implements ListIterator<T> {
+        private Node<T> nextNode;
+        private int nextIndex;
+        private Node<T> lastReturned;
+
+        private LinkedListIterator(int index) {
+            nextNode = index == size ? null : getNode(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = nextNode;
+            nextNode = nextNode.nextNode;
+            nextIndex++;
+            return lastReturned.value;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            nextNode = nextNode == null ? lastNode : nextNode.previousNode;
+            lastReturned = nextNode;
+            nextIndex--;
+            return lastReturned.value;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (lastReturned == nextNode) {
+                nextNode = lastReturned.nextNode;
+            } else {
+                nextIndex--;
+            }
+            LinkedList.this.remove(lastReturned);
+            lastReturned = null;
+        }
+
+        @Override
+        public void set(T value) {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            lastReturned.value = value;
+        }
+
+        @Override
+        public void add(T value) {
+            linkBefore(value, nextNode, nextIndex++);
+            lastReturned = null;
+        }
+    }
+
+    // walks the nodes, trySplit copies the next batch of values into an array spliterator
+    private class LinkedListSpliterator implements Spliterator<T> {
+        private Node<T> currentNode;
+        private int remaining;
+        private int batch;
+
+        private LinkedListSpliterator(Node<T> firstNode, int size) {
+            this.currentNode = firstNode;
+            this.remaining = size;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (remaining <= 1) {
+                return null;
+            }
+            int batchSize = Math.min(Math.min(batch + BATCH_STEP, MAX_BATCH), remaining);
+            var values = new Object[batchSize];
+            for (int i = 0; i < batchSize; i++) {
+                values[i] = currentNode.value;
+                currentNode = currentNode.nextNode;
+            }
+            batch = batchSize;
+            remaining -= batchSize;
+            return Spliterators.spliterator(values, 0, batchSize, characteristics());
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining == 0) {
+                return false;
+            }
+            var value = currentNode.value;
+            currentNode = currentNode.nextNode;
+            remaining--;
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
     private static class Node<T> {
         private Node<T> nextNode;
         private Node<T> previousNode;
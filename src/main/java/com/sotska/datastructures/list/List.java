@@ -1,5 +1,15 @@
 package com.sotska.datastructures.list;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface List<T> extends Iterable<T> {
     // add value to the end of the list
     void add(T t);
@@ -43,4 +53,74 @@ public interface List<T> extends Iterable<T> {
 
     // [A, B, C]
     String toString();
+
+    // [A, B] addAll([C, D]) -> [A, B, C, D]
+    default void addAll(List<? extends T> other) {
+        for (T value : other) {
+            add(value);
+        }
+    }
+
+    // [A, B, C] removeIf(B or C) -> [A], true if any element was removed
+    default boolean removeIf(Predicate<? super T> filter) {
+        var removed = false;
+        for (var iterator = iterator(); iterator.hasNext(); ) {
+            if (filter.test(iterator.next())) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    default void replaceAll(UnaryOperator<T> operator) {
+        for (int i = 0; i < size(); i++) {
+            set(operator.apply(get(i)), i);
+        }
+    }
+
+    // stable sort, null comparator sorts Comparable elements in natural order
+    @SuppressWarnings("unchecked")
+    default void sort(Comparator<? super T> comparator) {
+        var elements = toArray();
+        Arrays.sort(elements, (Comparator<Object>) comparator);
+        for (int i = 0; i < elements.length; i++) {
+            set((T) elements[i], i);
+        }
+    }
+
+    default Object[] toArray() {
+        var elements = new Object[size()];
+        int index = 0;
+        for (T value : this) {
+            elements[index++] = value;
+        }
+        return elements;
+    }
+
+    // iterator which can also walk backwards, add, set and remove at its position
+    default ListIterator<T> listIterator() {
+        return listIterator(0);
+    }
+
+    // we can start at index between [0, size]
+    // otherwise throw new IndexOutOfBoundsException
+    default ListIterator<T> listIterator(int index) {
+        return new IndexListIterator<>(this, index);
+    }
+
+    // sized spliterator which splits by copying batches of the iterator into arrays,
+    // lists with index or node access override it with a cheaper one
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -0,0 +1,176 @@
+package com.sotska.datastructures.list;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.StringJoiner;
+
+// ArrayList of long values kept in a long[], so elements are never boxed.
+public class LongArrayList {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 5;
+    private static final double DEFAULT_LOAD_FACTOR = 1.5;
+    private int size;
+    private long[] array;
+    private final double loadFactor;
+
+    public LongArrayList() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongArrayList(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongArrayList(int capacity, double loadFactor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should not be negative. Current capacity is " + capacity);
+        }
+        if (loadFactor <= 1) {
+            throw new IllegalArgumentException("Load factor should be greater than 1. Current load factor is " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        array = new long[capacity];
+    }
+
+    public void add(long value) {
+        ensureCapacity(size + 1);
+        array[size++] = value;
+    }
+
+    public void add(long value, int index) {
+        validateIndexForAdd(index);
+        ensureCapacity(size + 1);
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    // appends all values with a single capacity check and copy
+    public void addAll(long[] values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, array, size, values.length);
+        size += values.length;
+    }
+
+    public long remove(int index) {
+        validateIndex(index);
+        var elementForRemove = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return elementForRemove;
+    }
+
+    public long get(int index) {
+        validateIndex(index);
+        return array[index];
+    }
+
+    public long set(long value, int index) {
+        validateIndex(index);
+        var oldValue = array[index];
+        array[index] = value;
+        return oldValue;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long value) {
+        return indexOf(value) != -1;
+    }
+
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(long value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongArrayListIterator();
+    }
+
+    @Override
+    public String toString() {
+        var stringJoiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < size; i++) {
+            stringJoiner.add(String.valueOf(array[i]));
+        }
+        return stringJoiner.toString();
+    }
+
+    private void validateIndex(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private void validateIndexForAdd(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity > array.length) {
+            var newCapacity = Math.max(requiredCapacity, (int) (array.length * loadFactor) + 1);
+            array = Arrays.copyOf(array, newCapacity);
+        }
+    }
+
+    private class LongArrayListIterator implements PrimitiveIterator.OfLong {
+        private int currentIteratorIndex = 0;
+        private boolean isCurrentElementCanBeRemoved;
+
+        @Override
+        public boolean hasNext() {
+            return currentIteratorIndex < size;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var nextElement = array[currentIteratorIndex];
+            currentIteratorIndex++;
+            isCurrentElementCanBeRemoved = true;
+            return nextElement;
+        }
+
+        @Override
+        public void remove() {
+            if (isCurrentElementCanBeRemoved) {
+                LongArrayList.this.remove(--currentIteratorIndex);
+                isCurrentElementCanBeRemoved = false;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
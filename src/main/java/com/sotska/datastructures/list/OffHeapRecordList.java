@@ -0,0 +1,203 @@
+package com.sotska.datastructures.list;
+
+import com.sotska.datastructures.list.RecordSchema.Field;
+import com.sotska.datastructures.list.RecordSchema.FieldType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// List of fixed width records kept back to back in one direct (off-heap) buffer, laid out by a RecordSchema.
+// A record is not an object: fields are read and written by record index and schema field,
+// so millions of records cost no object headers or references and the GC never scans them.
+// Iterating indexes in order reads the memory sequentially. The buffer grows by loadFactor times,
+// a grow allocates a new buffer and copies the records. close() drops the buffer,
+// the list can not be used after that.
+public class OffHeapRecordList implements AutoCloseable {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    private static final double DEFAULT_LOAD_FACTOR = 1.5;
+    private final RecordSchema schema;
+    private final int recordSize;
+    private final double loadFactor;
+    private ByteBuffer buffer;
+    private int capacity;
+    private int size;
+    private boolean closed;
+
+    public OffHeapRecordList(RecordSchema schema) {
+        this(schema, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public OffHeapRecordList(RecordSchema schema, int capacity) {
+        this(schema, capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public OffHeapRecordList(RecordSchema schema, int capacity, double loadFactor) {
+        if (capacity < 0 || capacity > maxCapacity(schema)) {
+            throw new IllegalArgumentException("Capacity should be between 0 and " + maxCapacity(schema)
+                    + ". Current capacity is " + capacity);
+        }
+        if (loadFactor <= 1) {
+            throw new IllegalArgumentException("Load factor should be greater than 1. Current load factor is " + loadFactor);
+        }
+        this.schema = schema;
+        this.recordSize = schema.recordSize();
+        this.loadFactor = loadFactor;
+        allocate(capacity);
+    }
+
+    public RecordSchema schema() {
+        return schema;
+    }
+
+    // appends a record with every field set to zero, returns its index
+    public int add() {
+        checkOpen();
+        ensureCapacity(size + 1);
+        int offset = size * recordSize;
+        for (int i = 0; i < recordSize; i++) {
+            buffer.put(offset + i, (byte) 0);
+        }
+        return size++;
+    }
+
+    // removes the record and shifts the following records one place to the left
+    public void remove(int index) {
+        validateIndex(index);
+        int offset = index * recordSize;
+        buffer.put(offset, buffer, offset + recordSize, (size - index - 1) * recordSize);
+        size--;
+    }
+
+    // copies the last record over the removed one, O(1) but changes the index of the last record
+    public void swapRemove(int index) {
+        validateIndex(index);
+        size--;
+        if (index != size) {
+            buffer.put(index * recordSize, buffer, size * recordSize, recordSize);
+        }
+    }
+
+    public byte getByte(int index, Field field) {
+        return buffer.get(fieldOffset(index, field, FieldType.BYTE));
+    }
+
+    public void setByte(byte value, int index, Field field) {
+        buffer.put(fieldOffset(index, field, FieldType.BYTE), value);
+    }
+
+    public short getShort(int index, Field field) {
+        return buffer.getShort(fieldOffset(index, field, FieldType.SHORT));
+    }
+
+    public void setShort(short value, int index, Field field) {
+        buffer.putShort(fieldOffset(index, field, FieldType.SHORT), value);
+    }
+
+    public int getInt(int index, Field field) {
+        return buffer.getInt(fieldOffset(index, field, FieldType.INT));
+    }
+
+    public void setInt(int value, int index, Field field) {
+        buffer.putInt(fieldOffset(index, field, FieldType.INT), value);
+    }
+
+    public long getLong(int index, Field field) {
+        return buffer.getLong(fieldOffset(index, field, FieldType.LONG));
+    }
+
+    public void setLong(long value, int index, Field field) {
+        buffer.putLong(fieldOffset(index, field, FieldType.LONG), value);
+    }
+
+    public float getFloat(int index, Field field) {
+        return buffer.getFloat(fieldOffset(index, field, FieldType.FLOAT));
+    }
+
+    public void setFloat(float value, int index, Field field) {
+        buffer.putFloat(fieldOffset(index, field, FieldType.FLOAT), value);
+    }
+
+    public double getDouble(int index, Field field) {
+        return buffer.getDouble(fieldOffset(index, field, FieldType.DOUBLE));
+    }
+
+    public void setDouble(double value, int index, Field field) {
+        buffer.putDouble(fieldOffset(index, field, FieldType.DOUBLE), value);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        checkOpen();
+        size = 0;
+    }
+
+    // bytes of off-heap memory held by the list
+    public long memoryUsage() {
+        checkOpen();
+        return buffer.capacity();
+    }
+
+    // makes room for requiredSize records with a single copy
+    public void ensureCapacity(int requiredSize) {
+        checkOpen();
+        if (requiredSize > capacity) {
+            if (requiredSize > maxCapacity(schema)) {
+                throw new IllegalStateException("Record list can not hold more than " + maxCapacity(schema)
+                        + " records. Required size is " + requiredSize);
+            }
+            int newCapacity = (int) Math.min(maxCapacity(schema), Math.max(requiredSize, (long) (capacity * loadFactor)));
+            var oldBuffer = buffer;
+            allocate(newCapacity);
+            buffer.put(0, oldBuffer, 0, size * recordSize);
+        }
+    }
+
+    // the memory is freed later, when the garbage collector runs the cleaner of the dropped buffer
+    @Override
+    public void close() {
+        closed = true;
+        buffer = null;
+    }
+
+    private void allocate(int newCapacity) {
+        buffer = ByteBuffer.allocateDirect(newCapacity * recordSize).order(ByteOrder.nativeOrder());
+        capacity = newCapacity;
+    }
+
+    private int fieldOffset(int index, Field field, FieldType type) {
+        validateIndex(index);
+        // a field of another schema could point past the end of the record
+        if (!schema.contains(field)) {
+            throw new IllegalArgumentException("Field " + field.name() + " does not belong to the schema of this list.");
+        }
+        if (field.type() != type) {
+            throw new IllegalArgumentException("Field " + field.name() + " should be " + type + ". Current type is " + field.type());
+        }
+        return index * recordSize + field.offset();
+    }
+
+    private static int maxCapacity(RecordSchema schema) {
+        return Integer.MAX_VALUE / schema.recordSize();
+    }
+
+    private void validateIndex(int index) {
+        checkOpen();
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("List is closed.");
+        }
+    }
+}
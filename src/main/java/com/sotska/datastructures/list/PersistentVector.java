@@ -0,0 +1,359 @@
+package com.sotska.datastructures.list;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+// Immutable list: append and with return a new vector and leave this one unchanged.
+// Elements are kept in a trie of 32 element arrays, the index bits select a child 5 bits per level,
+// so get, append and with are O(log32 n). A new version copies only the path to the changed element
+// and shares all other nodes with the old version. The last up to 32 elements are kept aside in tail,
+// so most appends copy the tail only.
+// Mutators of List throw UnsupportedOperationException, Builder builds big vectors without copying.
+public class PersistentVector<T> implements List<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    // bits of the index used by the root level
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <T> PersistentVector<T> of(T... values) {
+        var builder = new Builder<T>();
+        for (T value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    // builder which starts with the elements of this vector
+    public Builder<T> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    // returns vector with value added to the end
+    public PersistentVector<T> append(T value) {
+        if (size - tailOffset() < WIDTH) {
+            var newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Object[] newRoot;
+        int newShift = shift;
+        // the tree is full when it already holds 32^(levels) elements
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    // returns vector with value at the index replaced
+    // we can replace value by index between [0, size - 1]
+    // otherwise throw new IndexOutOfBoundsException
+    public PersistentVector<T> with(T value, int index) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            var newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, replace(shift, root, index, value), tail);
+    }
+
+    @Override
+    public void add(T value) {
+        throw immutable();
+    }
+
+    @Override
+    public void add(T value, int index) {
+        throw immutable();
+    }
+
+    @Override
+    public T remove(int index) {
+        throw immutable();
+    }
+
+    @Override
+    public T set(T value, int index) {
+        throw immutable();
+    }
+
+    @Override
+    public void clear() {
+        throw immutable();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        for (int i = 0; i < size; i += WIDTH) {
+            var leaf = leafFor(i);
+            for (int j = 0; j < WIDTH && i + j < size; j++) {
+                if (Objects.equals(leaf[j], value)) {
+                    return i + j;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(get(i), value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        var stringJoiner = new StringJoiner(", ", "[", "]");
+        this.forEach(element -> stringJoiner.add(String.valueOf(element)));
+
+        return stringJoiner.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new PersistentVectorIterator();
+    }
+
+    // index of the first element kept in tail
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        var node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    // copies the path to the last leaf and hangs the full tail there
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int childIndex = ((size - 1) >>> level) & MASK;
+        var newParent = parent.clone();
+        Object[] child;
+        if (level == BITS) {
+            child = tailNode;
+        } else {
+            var oldChild = (Object[]) parent[childIndex];
+            child = oldChild != null ? pushTail(level - BITS, oldChild, tailNode) : newPath(level - BITS, tailNode);
+        }
+        newParent[childIndex] = child;
+        return newParent;
+    }
+
+    private Object[] replace(int level, Object[] node, int index, Object value) {
+        var newNode = node.clone();
+        if (level == 0) {
+            newNode[index & MASK] = value;
+        } else {
+            int childIndex = (index >>> level) & MASK;
+            newNode[childIndex] = replace(level - BITS, (Object[]) node[childIndex], index, value);
+        }
+        return newNode;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        var path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("Persistent vector is immutable. Use append or with.");
+    }
+
+    private class PersistentVectorIterator implements Iterator<T> {
+        private int currentIteratorIndex;
+        private Object[] currentLeaf;
+
+        @Override
+        public boolean hasNext() {
+            return currentIteratorIndex < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if ((currentIteratorIndex & MASK) == 0) {
+                currentLeaf = leafFor(currentIteratorIndex);
+            }
+            return (T) currentLeaf[currentIteratorIndex++ & MASK];
+        }
+    }
+
+    // Appends without creating a new vector per element: the tail is filled in place and
+    // nodes on the rightmost path which the builder created itself are changed in place.
+    // Nodes shared with a built vector are copied before the first change, so vectors returned
+    // by build never change.
+    public static class Builder<T> {
+        private int size;
+        private int shift = BITS;
+        private Object[] root = EMPTY_NODE;
+        private Object[] tail = new Object[WIDTH];
+        // ownedPath[level / BITS] is the node on the rightmost path at that level if the builder may change it
+        private Object[][] ownedPath = new Object[8][];
+
+        private Builder() {
+        }
+
+        private Builder(PersistentVector<T> vector) {
+            size = vector.size;
+            shift = vector.shift;
+            root = vector.root;
+            System.arraycopy(vector.tail, 0, tail, 0, vector.tail.length);
+        }
+
+        public Builder<T> add(T value) {
+            int tailSize = size - tailOffset();
+            if (tailSize == WIDTH) {
+                pushTail();
+                tail = new Object[WIDTH];
+                tailSize = 0;
+            }
+            tail[tailSize] = value;
+            size++;
+            return this;
+        }
+
+        public Builder<T> addAll(List<? extends T> values) {
+            for (T value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PersistentVector<T> build() {
+            ownedPath = new Object[8][];
+            var tailSize = size - tailOffset();
+            return new PersistentVector<>(size, shift, root, Arrays.copyOf(tail, tailSize));
+        }
+
+        private int tailOffset() {
+            return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+        }
+
+        private void pushTail() {
+            if ((size >>> BITS) > (1 << shift)) {
+                var newRoot = new Object[WIDTH];
+                newRoot[0] = root;
+                newRoot[1] = newOwnedPath(shift, tail);
+                root = newRoot;
+                shift += BITS;
+                ownedPath[shift / BITS] = newRoot;
+            } else {
+                root = pushTail(shift, root);
+            }
+        }
+
+        private Object[] pushTail(int level, Object[] parent) {
+            var node = owned(level, parent);
+            int childIndex = ((size - 1) >>> level) & MASK;
+            if (level == BITS) {
+                node[childIndex] = tail;
+            } else {
+                var child = (Object[]) node[childIndex];
+                node[childIndex] = child == null ? newOwnedPath(level - BITS, tail) : pushTail(level - BITS, child);
+            }
+            return node;
+        }
+
+        // returns the node itself if the builder created it, a copy of it otherwise
+        private Object[] owned(int level, Object[] node) {
+            if (ownedPath[level / BITS] == node) {
+                return node;
+            }
+            var copy = node.clone();
+            ownedPath[level / BITS] = copy;
+            return copy;
+        }
+
+        private Object[] newOwnedPath(int level, Object[] leaf) {
+            if (level == 0) {
+                return leaf;
+            }
+            var path = new Object[WIDTH];
+            path[0] = newOwnedPath(level - BITS, leaf);
+            ownedPath[level / BITS] = path;
+            return path;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.sotska.datastructures.list;
+
+import java.util.LinkedHashMap;
+
+// Layout of the fixed width records of OffHeapRecordList: named primitive fields at fixed offsets.
+// Every field is aligned to its own size and the record size is rounded up to the widest field,
+// so fields of consecutive records stay aligned as well.
+public class RecordSchema {
+
+    private final Field[] fields;
+    private final LinkedHashMap<String, Field> fieldsByName;
+    private final int recordSize;
+
+    private RecordSchema(Field[] fields, LinkedHashMap<String, Field> fieldsByName, int recordSize) {
+        this.fields = fields;
+        this.fieldsByName = fieldsByName;
+        this.recordSize = recordSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // size of one record in bytes including padding
+    public int recordSize() {
+        return recordSize;
+    }
+
+    // fields in declaration order
+    public Field[] fields() {
+        return fields.clone();
+    }
+
+    // field with the name, look it up once and keep it for access in loops
+    // otherwise throw new IllegalArgumentException
+    public Field field(String name) {
+        var field = fieldsByName.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Schema has no field " + name + ". Fields are " + fieldsByName.keySet());
+        }
+        return field;
+    }
+
+    // true only for a field built by this schema, a field of another schema may have the same name
+    public boolean contains(Field field) {
+        return fieldsByName.get(field.name()) == field;
+    }
+
+    public enum FieldType {
+        BYTE(Byte.BYTES), SHORT(Short.BYTES), INT(Integer.BYTES), LONG(Long.BYTES), FLOAT(Float.BYTES), DOUBLE(Double.BYTES);
+
+        private final int size;
+
+        FieldType(int size) {
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    public static class Field {
+        private final String name;
+        private final FieldType type;
+        private final int offset;
+
+        private Field(String name, FieldType type, int offset) {
+            this.name = name;
+            this.type = type;
+            this.offset = offset;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public FieldType type() {
+            return type;
+        }
+
+        // offset of the field from the start of the record
+        public int offset() {
+            return offset;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + type + " at " + offset;
+        }
+    }
+
+    public static class Builder {
+        private final LinkedHashMap<String, Field> fieldsByName = new LinkedHashMap<>();
+        private int nextOffset;
+        private int alignment = 1;
+
+        private Builder() {
+        }
+
+        public Builder addByte(String name) {
+            return add(name, FieldType.BYTE);
+        }
+
+        public Builder addShort(String name) {
+            return add(name, FieldType.SHORT);
+        }
+
+        public Builder addInt(String name) {
+            return add(name, FieldType.INT);
+        }
+
+        public Builder addLong(String name) {
+            return add(name, FieldType.LONG);
+        }
+
+        public Builder addFloat(String name) {
+            return add(name, FieldType.FLOAT);
+        }
+
+        public Builder addDouble(String name) {
+            return add(name, FieldType.DOUBLE);
+        }
+
+        // names should be unique, otherwise throw new IllegalArgumentException
+        public Builder add(String name, FieldType type) {
+            if (fieldsByName.containsKey(name)) {
+                throw new IllegalArgumentException("Field name should be unique. Current name is " + name);
+            }
+            int offset = alignUp(nextOffset, type.size());
+            fieldsByName.put(name, new Field(name, type, offset));
+            nextOffset = offset + type.size();
+            alignment = Math.max(alignment, type.size());
+            return this;
+        }
+
+        // a schema should have at least one field, otherwise throw new IllegalStateException
+        public RecordSchema build() {
+            if (fieldsByName.isEmpty()) {
+                throw new IllegalStateException("Schema should have at least one field.");
+            }
+            return new RecordSchema(fieldsByName.values().toArray(new Field[0]), new LinkedHashMap<>(fieldsByName),
+                    alignUp(nextOffset, alignment));
+        }
+
+        private static int alignUp(int offset, int alignment) {
+            return (offset + alignment - 1) / alignment * alignment;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.sotska.datastructures.list;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+// List kept in a B+ tree where every node knows the number of elements below it,
+// so get, set, add and remove by index descend from the root in O(log n).
+// Elements are stored in leaves of up to LEAF_CAPACITY elements which are linked left to right,
+// iteration just walks the leaf arrays. A node that overflows is split in two halves,
+// a node that falls below half capacity is merged with or takes elements from a neighbour.
+public class TreeList<T> implements List<T> {
+
+    private static final int LEAF_CAPACITY = 64;
+    private static final int BRANCH_CAPACITY = 32;
+    private Node root = new Leaf();
+    // offset inside the leaf returned by the last getLeaf call
+    private int leafOffset;
+
+    @Override
+    public void add(T value) {
+        add(value, size());
+    }
+
+    @Override
+    public void add(T value, int index) {
+        checkIndexForAdd(index);
+        var sibling = insert(root, index, value);
+        if (sibling != null) {
+            var newRoot = new Branch();
+            newRoot.addChild(0, root);
+            newRoot.addChild(1, sibling);
+            newRoot.size = root.size + sibling.size;
+            root = newRoot;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkIndex(index);
+        var removed = delete(root, index);
+        if (root instanceof Branch branch && branch.childCount == 1) {
+            root = branch.children[0];
+        }
+        return (T) removed;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) getLeaf(index).elements[leafOffset];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(T value, int index) {
+        checkIndex(index);
+        var leaf = getLeaf(index);
+        var oldValue = leaf.elements[leafOffset];
+        leaf.elements[leafOffset] = value;
+        return (T) oldValue;
+    }
+
+    @Override
+    public void clear() {
+        root = new Leaf();
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        int index = 0;
+        for (var leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                if (Objects.equals(leaf.elements[i], value)) {
+                    return index + i;
+                }
+            }
+            index += leaf.size;
+        }
+        return -1;
+    }
+
+    // leaves are linked one way only, so the whole list is scanned
+    @Override
+    public int lastIndexOf(T value) {
+        int lastIndex = -1;
+        int index = 0;
+        for (var leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                if (Objects.equals(leaf.elements[i], value)) {
+                    lastIndex = index + i;
+                }
+            }
+            index += leaf.size;
+        }
+        return lastIndex;
+    }
+
+    @Override
+    public String toString() {
+        var stringJoiner = new StringJoiner(", ", "[", "]");
+        this.forEach(element -> stringJoiner.add(String.valueOf(element)));
+
+        return stringJoiner.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new TreeListIterator();
+    }
+
+    private Leaf firstLeaf() {
+        var node = root;
+        while (node instanceof Branch branch) {
+            node = branch.children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf getLeaf(int index) {
+        var node = root;
+        while (node instanceof Branch branch) {
+            int childIndex = 0;
+            while (index >= branch.children[childIndex].size) {
+                index -= branch.children[childIndex].size;
+                childIndex++;
+            }
+            node = branch.children[childIndex];
+        }
+        leafOffset = index;
+        return (Leaf) node;
+    }
+
+    // returns new right sibling of the node if the node had to be split
+    private Node insert(Node node, int index, Object value) {
+        if (node instanceof Leaf leaf) {
+            leaf.insert(index, value);
+            return leaf.size > LEAF_CAPACITY ? leaf.split() : null;
+        }
+        var branch = (Branch) node;
+        int childIndex = 0;
+        while (childIndex < branch.childCount - 1 && index > branch.children[childIndex].size) {
+            index -= branch.children[childIndex].size;
+            childIndex++;
+        }
+        var sibling = insert(branch.children[childIndex], index, value);
+        branch.size++;
+        if (sibling == null) {
+            return null;
+        }
+        branch.addChild(childIndex + 1, sibling);
+        return branch.childCount > BRANCH_CAPACITY ? branch.split() : null;
+    }
+
+    private Object delete(Node node, int index) {
+        if (node instanceof Leaf leaf) {
+            return leaf.remove(index);
+        }
+        var branch = (Branch) node;
+        int childIndex = 0;
+        while (index >= branch.children[childIndex].size) {
+            index -= branch.children[childIndex].size;
+            childIndex++;
+        }
+        var child = branch.children[childIndex];
+        var removed = delete(child, index);
+        branch.size--;
+        if (child.isUnderflow() && branch.childCount > 1) {
+            fixUnderflow(branch, childIndex);
+        }
+        return removed;
+    }
+
+    // merges the child with a neighbour if both fit into one node, otherwise splits their content evenly
+    private void fixUnderflow(Branch branch, int childIndex) {
+        var leftIndex = childIndex > 0 ? childIndex - 1 : childIndex;
+        var left = branch.children[leftIndex];
+        var right = branch.children[leftIndex + 1];
+        if (left.canMerge(right)) {
+            left.merge(right);
+            branch.removeChild(leftIndex + 1);
+        } else {
+            left.rebalance(right);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index > size() - 1) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size() + " Current index is " + index);
+        }
+    }
+
+    private void checkIndexForAdd(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size() + " Current index is " + index);
+        }
+    }
+
+    private class TreeListIterator implements Iterator<T> {
+        private Leaf currentLeaf = firstLeaf();
+        private int currentOffset;
+        private int nextIndex;
+        private boolean canBeRemoved;
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (currentOffset == currentLeaf.size) {
+                currentLeaf = currentLeaf.next;
+                currentOffset = 0;
+            }
+            nextIndex++;
+            canBeRemoved = true;
+            return (T) currentLeaf.elements[currentOffset++];
+        }
+
+        // leaves may be merged or rebalanced by the removal, so the cursor is looked up again from the root
+        @Override
+        public void remove() {
+            if (!canBeRemoved) {
+                throw new IllegalStateException();
+            }
+            TreeList.this.remove(--nextIndex);
+            if (hasNext()) {
+                currentLeaf = getLeaf(nextIndex);
+                currentOffset = leafOffset;
+            }
+            canBeRemoved = false;
+        }
+    }
+
+    private abstract static class Node {
+        // number of elements stored under this node
+        int size;
+
+        abstract boolean isUnderflow();
+
+        abstract boolean canMerge(Node right);
+
+        abstract void merge(Node right);
+
+        abstract void rebalance(Node right);
+    }
+
+    private static class Leaf extends Node {
+        // one spare slot, an overflowing leaf is split right after the insert
+        private final Object[] elements = new Object[LEAF_CAPACITY + 1];
+        private Leaf next;
+
+        private void insert(int index, Object value) {
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = value;
+            size++;
+        }
+
+        private Object remove(int index) {
+            var removed = elements[index];
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            elements[--size] = null;
+            return removed;
+        }
+
+        private Leaf split() {
+            var right = new Leaf();
+            var half = size / 2;
+            right.size = size - half;
+            System.arraycopy(elements, half, right.elements, 0, right.size);
+            Arrays.fill(elements, half, size, null);
+            size = half;
+            right.next = next;
+            next = right;
+            return right;
+        }
+
+        @Override
+        boolean isUnderflow() {
+            return size < LEAF_CAPACITY / 2;
+        }
+
+        @Override
+        boolean canMerge(Node right) {
+            return size + right.size <= LEAF_CAPACITY;
+        }
+
+        @Override
+        void merge(Node right) {
+            var rightLeaf = (Leaf) right;
+            System.arraycopy(rightLeaf.elements, 0, elements, size, rightLeaf.size);
+            size += rightLeaf.size;
+            next = rightLeaf.next;
+        }
+
+        @Override
+        void rebalance(Node right) {
+            var rightLeaf = (Leaf) right;
+            var total = size + rightLeaf.size;
+            var newSize = total / 2;
+            if (newSize < size) {
+                var moved = size - newSize;
+                System.arraycopy(rightLeaf.elements, 0, rightLeaf.elements, moved, rightLeaf.size);
+                System.arraycopy(elements, newSize, rightLeaf.elements, 0, moved);
+                Arrays.fill(elements, newSize, size, null);
+            } else {
+                var moved = newSize - size;
+                System.arraycopy(rightLeaf.elements, 0, elements, size, moved);
+                System.arraycopy(rightLeaf.elements, moved, rightLeaf.elements, 0, rightLeaf.size - moved);
+                Arrays.fill(rightLeaf.elements, rightLeaf.size - moved, rightLeaf.size, null);
+            }
+            size = newSize;
+            rightLeaf.size = total - newSize;
+        }
+    }
+
+    private static class Branch extends Node {
+        // one spare slot, an overflowing branch is split right after the insert
+        private final Node[] children = new Node[BRANCH_CAPACITY + 1];
+        private int childCount;
+
+        private void addChild(int index, Node child) {
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            children[index] = child;
+            childCount++;
+        }
+
+        private void removeChild(int index) {
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        private Branch split() {
+            var right = new Branch();
+            var half = childCount / 2;
+            right.childCount = childCount - half;
+            System.arraycopy(children, half, right.children, 0, right.childCount);
+            Arrays.fill(children, half, childCount, null);
+            childCount = half;
+            right.size = right.sumOfChildSizes();
+            size -= right.size;
+            return right;
+        }
+
+        private int sumOfChildSizes() {
+            int sum = 0;
+            for (int i = 0; i < childCount; i++) {
+                sum += children[i].size;
+            }
+            return sum;
+        }
+
+        @Override
+        boolean isUnderflow() {
+            return childCount < BRANCH_CAPACITY / 2;
+        }
+
+        @Override
+        boolean canMerge(Node right) {
+            return childCount + ((Branch) right).childCount <= BRANCH_CAPACITY;
+        }
+
+        @Override
+        void merge(Node right) {
+            var rightBranch = (Branch) right;
+            System.arraycopy(rightBranch.children, 0, children, childCount, rightBranch.childCount);
+            childCount += rightBranch.childCount;
+            size += rightBranch.size;
+        }
+
+        @Override
+        void rebalance(Node right) {
+            var rightBranch = (Branch) right;
+            var total = childCount + rightBranch.childCount;
+            var newCount = total / 2;
+            if (newCount < childCount) {
+                var moved = childCount - newCount;
+                System.arraycopy(rightBranch.children, 0, rightBranch.children, moved, rightBranch.childCount);
+                System.arraycopy(children, newCount, rightBranch.children, 0, moved);
+                Arrays.fill(children, newCount, childCount, null);
+            } else {
+                var moved = newCount - childCount;
+                System.arraycopy(rightBranch.children, 0, children, childCount, moved);
+                System.arraycopy(rightBranch.children, moved, rightBranch.children, 0, rightBranch.childCount - moved);
+                Arrays.fill(rightBranch.children, rightBranch.childCount - moved, rightBranch.childCount, null);
+            }
+            childCount = newCount;
+            rightBranch.childCount = total - newCount;
+            var pairSize = size + rightBranch.size;
+            size = sumOfChildSizes();
+            rightBranch.size = pairSize - size;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.sotska.datastructures.list;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+// Doubly linked list of nodes that hold up to nodeCapacity elements each, so a lookup skips
+// a whole node at a time and iteration reads neighbouring elements from one array.
+// A full node is split in two halves on insert, a node less than half full takes over
+// its next node on remove if both fit into one node. Nodes are never empty.
+public class UnrolledLinkedList<T> implements List<T> {
+
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+    private final int nodeCapacity;
+    private Node firstNode;
+    private Node lastNode;
+    private int size;
+    // offset inside the node returned by the last getNode call
+    private int nodeOffset;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("Node capacity should be at least 2. Current node capacity is " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    @Override
+    public void add(T value) {
+        if (lastNode == null || lastNode.count == nodeCapacity) {
+            linkAfter(lastNode, new Node());
+        }
+        lastNode.elements[lastNode.count++] = value;
+        size++;
+    }
+
+    @Override
+    public void add(T value, int index) {
+        checkIndexForAdd(index);
+        if (index == size) {
+            add(value);
+            return;
+        }
+        var node = getNode(index);
+        int offset = nodeOffset;
+        if (node.count == nodeCapacity) {
+            var half = nodeCapacity / 2;
+            var newNode = new Node();
+            System.arraycopy(node.elements, half, newNode.elements, 0, node.count - half);
+            Arrays.fill(node.elements, half, node.count, null);
+            newNode.count = node.count - half;
+            node.count = half;
+            linkAfter(node, newNode);
+            if (offset > half) {
+                node = newNode;
+                offset -= half;
+            }
+        }
+        System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+        node.elements[offset] = value;
+        node.count++;
+        size++;
+    }
+
+    @Override
+    public T remove(int index) {
+        checkIndex(index);
+        var node = getNode(index);
+        return remove(node, nodeOffset);
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        return getNode(index).elementAt(nodeOffset);
+    }
+
+    @Override
+    public T set(T value, int index) {
+        checkIndex(index);
+        var node = getNode(index);
+        var oldValue = node.elementAt(nodeOffset);
+        node.elements[nodeOffset] = value;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        firstNode = lastNode = null;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return indexOf(value) != -1;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        int index = 0;
+        for (var node = firstNode; node != null; node = node.nextNode) {
+            for (int i = 0; i < node.count; i++) {
+                if (Objects.equals(node.elements[i], value)) {
+                    return index + i;
+                }
+            }
+            index += node.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        int index = size;
+        for (var node = lastNode; node != null; node = node.previousNode) {
+            index -= node.count;
+            for (int i = node.count - 1; i >= 0; i--) {
+                if (Objects.equals(node.elements[i], value)) {
+                    return index + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        var stringJoiner = new StringJoiner(", ", "[", "]");
+        this.forEach(element -> stringJoiner.add(String.valueOf(element)));
+
+        return stringJoiner.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new UnrolledLinkedListIterator();
+    }
+
+    // walks whole nodes from the nearer end, offset of the index inside the found node goes to nodeOffset
+    private Node getNode(int index) {
+        Node currentNode;
+        int offset;
+        if (index > size / 2) {
+            currentNode = lastNode;
+            offset = index - (size - currentNode.count);
+            while (offset < 0) {
+                currentNode = currentNode.previousNode;
+                offset += currentNode.count;
+            }
+        } else {
+            currentNode = firstNode;
+            offset = index;
+            while (offset >= currentNode.count) {
+                offset -= currentNode.count;
+                currentNode = currentNode.nextNode;
+            }
+        }
+        nodeOffset = offset;
+        return currentNode;
+    }
+
+    private T remove(Node node, int offset) {
+        var elementForRemove = node.elementAt(offset);
+        System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+        node.elements[--node.count] = null;
+        size--;
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < nodeCapacity / 2 && node.nextNode != null
+                && node.count + node.nextNode.count <= nodeCapacity) {
+            var nextNode = node.nextNode;
+            System.arraycopy(nextNode.elements, 0, node.elements, node.count, nextNode.count);
+            node.count += nextNode.count;
+            unlink(nextNode);
+        }
+        return elementForRemove;
+    }
+
+    private void linkAfter(Node node, Node newNode) {
+        newNode.previousNode = node;
+        if (node == null) {
+            newNode.nextNode = firstNode;
+            firstNode = newNode;
+        } else {
+            newNode.nextNode = node.nextNode;
+            node.nextNode = newNode;
+        }
+        if (newNode.nextNode == null) {
+            lastNode = newNode;
+        } else {
+            newNode.nextNode.previousNode = newNode;
+        }
+    }
+
+    private void unlink(Node node) {
+        if (node.previousNode == null) {
+            firstNode = node.nextNode;
+        } else {
+            node.previousNode.nextNode = node.nextNode;
+        }
+        if (node.nextNode == null) {
+            lastNode = node.previousNode;
+        } else {
+            node.nextNode.previousNode = node.previousNode;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private void checkIndexForAdd(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index should be between 0 and " + size + " Current index is " + index);
+        }
+    }
+
+    private class UnrolledLinkedListIterator implements Iterator<T> {
+        private Node currentNode = firstNode;
+        private int currentOffset;
+        private boolean canBeRemoved;
+
+        @Override
+        public boolean hasNext() {
+            return currentNode != null && (currentOffset < currentNode.count || currentNode.nextNode != null);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (currentOffset == currentNode.count) {
+                currentNode = currentNode.nextNode;
+                currentOffset = 0;
+            }
+            canBeRemoved = true;
+            return currentNode.elementAt(currentOffset++);
+        }
+
+        // a node only takes over elements of its next node, so the cursor stays valid unless the node is unlinked
+        @Override
+        public void remove() {
+            if (!canBeRemoved) {
+                throw new IllegalStateException();
+            }
+            var nextNode = currentNode.nextNode;
+            UnrolledLinkedList.this.remove(currentNode, --currentOffset);
+            if (currentNode.count == 0) {
+                currentNode = nextNode;
+                currentOffset = 0;
+            }
+            canBeRemoved = false;
+        }
+    }
+
+    private class Node {
+        private final Object[] elements = new Object[nodeCapacity];
+        private int count;
+        private Node nextNode;
+        private Node previousNode;
+
+        @SuppressWarnings("unchecked")
+        private T elementAt(int offset) {
+            return (T) elements[offset];
+        }
+    }
+}
@@ -0,0 +1,610 @@
+package com.sotska.datastructures.map;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+// Sorted map kept in a B+ tree. Leaves hold up to LEAF_CAPACITY keys and values in two parallel arrays
+// and are linked left to right, so range scans walk plain arrays. A branch holds up to BRANCH_CAPACITY
+// children and the keys separating them, keys[i - 1] <= every key under children[i] < keys[i].
+// Lookups binary search one node per level, floor, ceiling and subMap take O(log n) to find the start.
+// Keys are ordered by the comparator, or by natural order with null before every other key.
+public class BTreeMap<K, V> implements Map<K, V> {
+
+    private static final int LEAF_CAPACITY = 64;
+    private static final int BRANCH_CAPACITY = 64;
+    private final Comparator<? super K> comparator;
+    private Node root = new Leaf();
+    private int size;
+    // separator of the node returned by the last split
+    private Object splitKey;
+    // value replaced by the last insert or removed by the last delete
+    private Object oldValue;
+
+    @SuppressWarnings("unchecked")
+    public BTreeMap() {
+        this((Comparator<? super K>) Comparator.nullsFirst((Comparator<Comparable<Object>>) Comparator.naturalOrder()));
+    }
+
+    public BTreeMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    // builds the map from keys sorted in ascending order without splits, leaves are filled up to capacity
+    // values should be at least as long as keys, otherwise throw new IllegalArgumentException
+    public static <K extends Comparable<? super K>, V> BTreeMap<K, V> ofSorted(K[] keys, V[] values) {
+        var map = new BTreeMap<K, V>();
+        map.load(keys, values);
+        return map;
+    }
+
+    public static <K, V> BTreeMap<K, V> ofSorted(K[] keys, V[] values, Comparator<? super K> comparator) {
+        var map = new BTreeMap<K, V>(comparator);
+        map.load(keys, values);
+        return map;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        oldValue = null;
+        var sibling = insert(root, key, value);
+        if (sibling != null) {
+            var newRoot = new Branch();
+            newRoot.children[0] = root;
+            newRoot.childCount = 1;
+            newRoot.addChild(1, splitKey, sibling);
+            root = newRoot;
+        }
+        splitKey = null;
+        var replaced = (V) oldValue;
+        oldValue = null;
+        return replaced;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        var leaf = findLeaf(key);
+        int index = search(leaf.keys, leaf.size, key);
+        return index < 0 ? null : (V) leaf.values[index];
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        var leaf = findLeaf(key);
+        return search(leaf.keys, leaf.size, key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        if (!delete(root, key)) {
+            return null;
+        }
+        if (root instanceof Branch branch && branch.childCount == 1) {
+            root = branch.children[0];
+        }
+        var removed = (V) oldValue;
+        oldValue = null;
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    // entry with the smallest key, null if the map is empty
+    public Map.Entry<K, V> firstEntry() {
+        var leaf = firstLeaf();
+        return leaf.size == 0 ? null : entryAt(leaf, 0);
+    }
+
+    // entry with the largest key, null if the map is empty
+    public Map.Entry<K, V> lastEntry() {
+        var leaf = lastLeaf(root);
+        return leaf.size == 0 ? null : entryAt(leaf, leaf.size - 1);
+    }
+
+    // entry with the largest key less than or equal to the key, null if there is no such key
+    public Map.Entry<K, V> floorEntry(K key) {
+        var node = root;
+        // subtree just left of the path, holds the predecessor if the leaf has no smaller key
+        Node leftOfPath = null;
+        while (node instanceof Branch branch) {
+            int childIndex = childIndex(branch, key);
+            if (childIndex > 0) {
+                leftOfPath = branch.children[childIndex - 1];
+            }
+            node = branch.children[childIndex];
+        }
+        var leaf = (Leaf) node;
+        int index = search(leaf.keys, leaf.size, key);
+        if (index >= 0) {
+            return entryAt(leaf, index);
+        }
+        int insertionPoint = -index - 1;
+        if (insertionPoint > 0) {
+            return entryAt(leaf, insertionPoint - 1);
+        }
+        if (leftOfPath == null) {
+            return null;
+        }
+        var predecessorLeaf = lastLeaf(leftOfPath);
+        return entryAt(predecessorLeaf, predecessorLeaf.size - 1);
+    }
+
+    // entry with the smallest key greater than or equal to the key, null if there is no such key
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        var leaf = findLeaf(key);
+        int index = search(leaf.keys, leaf.size, key);
+        int offset = index >= 0 ? index : -index - 1;
+        if (offset == leaf.size) {
+            leaf = leaf.next;
+            offset = 0;
+        }
+        return leaf == null ? null : entryAt(leaf, offset);
+    }
+
+    // entries with keys from fromKey inclusive to toKey exclusive in ascending order,
+    // the iterator walks the leaves of this map, so it sees later changes and supports remove
+    public Iterable<Map.Entry<K, V>> subMap(K fromKey, K toKey) {
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("From key should not be greater than to key. Current from key is "
+                    + fromKey + " to key is " + toKey);
+        }
+        return () -> {
+            var leaf = findLeaf(fromKey);
+            int index = search(leaf.keys, leaf.size, fromKey);
+            return new BTreeMapIterator(leaf, index >= 0 ? index : -index - 1, toKey, true);
+        };
+    }
+
+    // iterates in ascending key order
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new BTreeMapIterator(firstLeaf(), 0, null, false);
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.DISTINCT | Spliterator.ORDERED);
+    }
+
+    private void load(K[] keys, V[] values) {
+        if (values.length < keys.length) {
+            throw new IllegalArgumentException("Values array should not be shorter than keys array. Keys length is "
+                    + keys.length + " values length is " + values.length);
+        }
+        for (int i = 1; i < keys.length; i++) {
+            if (compare(keys[i - 1], keys[i]) >= 0) {
+                throw new IllegalArgumentException("Keys should be sorted in ascending order without duplicates. "
+                        + "Current key at index " + i + " is " + keys[i] + " previous key is " + keys[i - 1]);
+            }
+        }
+        if (keys.length == 0) {
+            return;
+        }
+        // the count is spread evenly, so every node is at least half full
+        int leafCount = (keys.length + LEAF_CAPACITY - 1) / LEAF_CAPACITY;
+        var level = new Node[leafCount];
+        // smallest key under every node of the level, becomes a separator in the level above
+        var firstKeys = new Object[leafCount];
+        Leaf previous = null;
+        for (int i = 0, from = 0; i < leafCount; i++) {
+            int to = (int) ((long) keys.length * (i + 1) / leafCount);
+            var leaf = new Leaf();
+            leaf.size = to - from;
+            System.arraycopy(keys, from, leaf.keys, 0, leaf.size);
+            System.arraycopy(values, from, leaf.values, 0, leaf.size);
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[i] = leaf;
+            firstKeys[i] = keys[from];
+            from = to;
+        }
+        while (level.length > 1) {
+            int branchCount = (level.length + BRANCH_CAPACITY - 1) / BRANCH_CAPACITY;
+            var upperLevel = new Node[branchCount];
+            var upperFirstKeys = new Object[branchCount];
+            for (int i = 0, from = 0; i < branchCount; i++) {
+                int to = (int) ((long) level.length * (i + 1) / branchCount);
+                var branch = new Branch();
+                branch.childCount = to - from;
+                System.arraycopy(level, from, branch.children, 0, branch.childCount);
+                System.arraycopy(firstKeys, from + 1, branch.keys, 0, branch.childCount - 1);
+                upperLevel[i] = branch;
+                upperFirstKeys[i] = firstKeys[from];
+                from = to;
+            }
+            level = upperLevel;
+            firstKeys = upperFirstKeys;
+        }
+        root = level[0];
+        size = keys.length;
+    }
+
+    // returns new right sibling of the node if the node had to be split, its separator is put to splitKey
+    private Node insert(Node node, K key, V value) {
+        if (node instanceof Leaf leaf) {
+            int index = search(leaf.keys, leaf.size, key);
+            if (index >= 0) {
+                oldValue = leaf.values[index];
+                leaf.values[index] = value;
+                return null;
+            }
+            leaf.insert(-index - 1, key, value);
+            size++;
+            if (leaf.size <= LEAF_CAPACITY) {
+                return null;
+            }
+            var right = leaf.split();
+            splitKey = right.keys[0];
+            return right;
+        }
+        var branch = (Branch) node;
+        int childIndex = childIndex(branch, key);
+        var sibling = insert(branch.children[childIndex], key, value);
+        if (sibling == null) {
+            return null;
+        }
+        branch.addChild(childIndex + 1, splitKey, sibling);
+        if (branch.childCount <= BRANCH_CAPACITY) {
+            return null;
+        }
+        // the middle key moves up, it is not kept in either half
+        int half = branch.childCount / 2;
+        splitKey = branch.keys[half - 1];
+        return branch.split(half);
+    }
+
+    // returns false if the key is not in the map, the removed value is put to oldValue
+    private boolean delete(Node node, K key) {
+        if (node instanceof Leaf leaf) {
+            int index = search(leaf.keys, leaf.size, key);
+            if (index < 0) {
+                return false;
+            }
+            oldValue = leaf.values[index];
+            leaf.remove(index);
+            size--;
+            return true;
+        }
+        var branch = (Branch) node;
+        int childIndex = childIndex(branch, key);
+        var child = branch.children[childIndex];
+        if (!delete(child, key)) {
+            return false;
+        }
+        if (child.isUnderflow() && branch.childCount > 1) {
+            fixUnderflow(branch, childIndex);
+        }
+        return true;
+    }
+
+    // merges the child with a neighbour if both fit into one node, otherwise splits their content evenly
+    private void fixUnderflow(Branch branch, int childIndex) {
+        var leftIndex = childIndex > 0 ? childIndex - 1 : childIndex;
+        var separator = branch.keys[leftIndex];
+        if (branch.children[leftIndex] instanceof Leaf left) {
+            var right = (Leaf) branch.children[leftIndex + 1];
+            if (left.size + right.size <= LEAF_CAPACITY) {
+                left.merge(right);
+                branch.removeChild(leftIndex + 1);
+            } else {
+                left.rebalance(right);
+                branch.keys[leftIndex] = right.keys[0];
+            }
+        } else {
+            var left = (Branch) branch.children[leftIndex];
+            var right = (Branch) branch.children[leftIndex + 1];
+            if (left.childCount + right.childCount <= BRANCH_CAPACITY) {
+                left.merge(separator, right);
+                branch.removeChild(leftIndex + 1);
+            } else {
+                branch.keys[leftIndex] = left.rebalance(separator, right);
+            }
+        }
+    }
+
+    private Leaf findLeaf(Object key) {
+        var node = root;
+        while (node instanceof Branch branch) {
+            node = branch.children[childIndex(branch, key)];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf firstLeaf() {
+        var node = root;
+        while (node instanceof Branch branch) {
+            node = branch.children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private static Leaf lastLeaf(Node node) {
+        while (node instanceof Branch branch) {
+            node = branch.children[branch.childCount - 1];
+        }
+        return (Leaf) node;
+    }
+
+    // child of the branch whose key range holds the key
+    private int childIndex(Branch branch, Object key) {
+        int index = search(branch.keys, branch.childCount - 1, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    // index of the key among the first size keys, (-(insertion point) - 1) if there is no such key
+    private int search(Object[] keys, int size, Object key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(keys[middle], key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object first, Object second) {
+        return comparator.compare((K) first, (K) second);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map.Entry<K, V> entryAt(Leaf leaf, int index) {
+        return new BTreeEntry<>((K) leaf.keys[index], (V) leaf.values[index]);
+    }
+
+    private class BTreeMapIterator implements Iterator<Map.Entry<K, V>> {
+        private final Object toKey;
+        private final boolean hasUpperBound;
+        private Leaf nextLeaf;
+        private int nextOffset;
+        private Object lastReturnedKey;
+        private boolean canBeRemoved;
+
+        private BTreeMapIterator(Leaf leaf, int offset, Object toKey, boolean hasUpperBound) {
+            this.toKey = toKey;
+            this.hasUpperBound = hasUpperBound;
+            nextLeaf = leaf;
+            nextOffset = offset;
+            skipEndOfLeaf();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLeaf != null && (!hasUpperBound || compare(nextLeaf.keys[nextOffset], toKey) < 0);
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No such element at map.");
+            }
+            var entry = entryAt(nextLeaf, nextOffset);
+            lastReturnedKey = entry.getKey();
+            canBeRemoved = true;
+            nextOffset++;
+            skipEndOfLeaf();
+            return entry;
+        }
+
+        // leaves may be merged or rebalanced by the removal, so the next key is looked up again from the root
+        @Override
+        @SuppressWarnings("unchecked")
+        public void remove() {
+            if (!canBeRemoved) {
+                throw new IllegalStateException("Have no element to remove.");
+            }
+            var nextKey = nextLeaf == null ? null : nextLeaf.keys[nextOffset];
+            BTreeMap.this.remove((K) lastReturnedKey);
+            if (nextLeaf != null) {
+                nextLeaf = findLeaf(nextKey);
+                nextOffset = search(nextLeaf.keys, nextLeaf.size, nextKey);
+            }
+            canBeRemoved = false;
+        }
+
+        private void skipEndOfLeaf() {
+            while (nextLeaf != null && nextOffset == nextLeaf.size) {
+                nextLeaf = nextLeaf.next;
+                nextOffset = 0;
+            }
+        }
+    }
+
+    private static class BTreeEntry<K, V> implements Map.Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        private BTreeEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+
+    private abstract static class Node {
+        abstract boolean isUnderflow();
+    }
+
+    private static class Leaf extends Node {
+        // one spare slot, an overflowing leaf is split right after the insert
+        private final Object[] keys = new Object[LEAF_CAPACITY + 1];
+        private final Object[] values = new Object[LEAF_CAPACITY + 1];
+        private int size;
+        private Leaf next;
+
+        private void insert(int index, Object key, Object value) {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+
+        private void remove(int index) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+        }
+
+        private Leaf split() {
+            var right = new Leaf();
+            var half = size / 2;
+            right.size = size - half;
+            System.arraycopy(keys, half, right.keys, 0, right.size);
+            System.arraycopy(values, half, right.values, 0, right.size);
+            Arrays.fill(keys, half, size, null);
+            Arrays.fill(values, half, size, null);
+            size = half;
+            right.next = next;
+            next = right;
+            return right;
+        }
+
+        private void merge(Leaf right) {
+            System.arraycopy(right.keys, 0, keys, size, right.size);
+            System.arraycopy(right.values, 0, values, size, right.size);
+            size += right.size;
+            next = right.next;
+        }
+
+        private void rebalance(Leaf right) {
+            var total = size + right.size;
+            var newSize = total / 2;
+            if (newSize < size) {
+                var moved = size - newSize;
+                System.arraycopy(right.keys, 0, right.keys, moved, right.size);
+                System.arraycopy(right.values, 0, right.values, moved, right.size);
+                System.arraycopy(keys, newSize, right.keys, 0, moved);
+                System.arraycopy(values, newSize, right.values, 0, moved);
+                Arrays.fill(keys, newSize, size, null);
+                Arrays.fill(values, newSize, size, null);
+            } else {
+                var moved = newSize - size;
+                System.arraycopy(right.keys, 0, keys, size, moved);
+                System.arraycopy(right.values, 0, values, size, moved);
+                System.arraycopy(right.keys, moved, right.keys, 0, right.size - moved);
+                System.arraycopy(right.values, moved, right.values, 0, right.size - moved);
+                Arrays.fill(right.keys, right.size - moved, right.size, null);
+                Arrays.fill(right.values, right.size - moved, right.size, null);
+            }
+            size = newSize;
+            right.size = total - newSize;
+        }
+
+        @Override
+        boolean isUnderflow() {
+            return size < LEAF_CAPACITY / 2;
+        }
+    }
+
+    private static class Branch extends Node {
+        // one spare slot, an overflowing branch is split right after the insert
+        private final Object[] keys = new Object[BRANCH_CAPACITY];
+        private final Node[] children = new Node[BRANCH_CAPACITY + 1];
+        private int childCount;
+
+        // separator goes between children[index - 1] and the new child
+        private void addChild(int index, Object separator, Node child) {
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            System.arraycopy(keys, index - 1, keys, index, childCount - index);
+            children[index] = child;
+            keys[index - 1] = separator;
+            childCount++;
+        }
+
+        // removes the child together with the separator on its left
+        private void removeChild(int index) {
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            System.arraycopy(keys, index, keys, index - 1, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+            keys[childCount - 1] = null;
+        }
+
+        // keeps half children, keys[half - 1] is left for the caller to move up
+        private Branch split(int half) {
+            var right = new Branch();
+            right.childCount = childCount - half;
+            System.arraycopy(children, half, right.children, 0, right.childCount);
+            System.arraycopy(keys, half, right.keys, 0, right.childCount - 1);
+            Arrays.fill(children, half, childCount, null);
+            Arrays.fill(keys, half - 1, childCount - 1, null);
+            childCount = half;
+            return right;
+        }
+
+        private void merge(Object separator, Branch right) {
+            keys[childCount - 1] = separator;
+            System.arraycopy(right.keys, 0, keys, childCount, right.childCount - 1);
+            System.arraycopy(right.children, 0, children, childCount, right.childCount);
+            childCount += right.childCount;
+        }
+
+        // spreads the children of both branches evenly, returns the new separator between them
+        private Object rebalance(Object separator, Branch right) {
+            var total = childCount + right.childCount;
+            var allChildren = new Node[total];
+            var allKeys = new Object[total - 1];
+            System.arraycopy(children, 0, allChildren, 0, childCount);
+            System.arraycopy(right.children, 0, allChildren, childCount, right.childCount);
+            System.arraycopy(keys, 0, allKeys, 0, childCount - 1);
+            allKeys[childCount - 1] = separator;
+            System.arraycopy(right.keys, 0, allKeys, childCount, right.childCount - 1);
+            Arrays.fill(children, null);
+            Arrays.fill(keys, null);
+            Arrays.fill(right.children, null);
+            Arrays.fill(right.keys, null);
+
+            var newCount = total / 2;
+            childCount = newCount;
+            right.childCount = total - newCount;
+            System.arraycopy(allChildren, 0, children, 0, newCount);
+            System.arraycopy(allKeys, 0, keys, 0, newCount - 1);
+            System.arraycopy(allChildren, newCount, right.children, 0, right.childCount);
+            System.arraycopy(allKeys, newCount, right.keys, 0, right.childCount - 1);
+            return allKeys[newCount - 1];
+        }
+
+        @Override
+        boolean isUnderflow() {
+            return childCount < BRANCH_CAPACITY / 2;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sotska.datastructures.map;
+
+import java.nio.ByteBuffer;
+
+// Hashing and comparison of byte ranges, reading 8 bytes at a time where possible.
+// The hash depends only on the bytes, so it is stable between runs and can be stored in files.
+final class Bytes {
+
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private Bytes() {
+    }
+
+    static int hash(ByteBuffer buffer, int offset, int length) {
+        long hash = length * MULTIPLIER;
+        int index = 0;
+        for (; index + Long.BYTES <= length; index += Long.BYTES) {
+            hash = Long.rotateLeft((hash ^ buffer.getLong(offset + index)) * MULTIPLIER, 31);
+        }
+        for (; index < length; index++) {
+            hash = (hash ^ buffer.get(offset + index)) * MULTIPLIER;
+        }
+        hash ^= hash >>> 32;
+        hash *= MULTIPLIER;
+        return (int) (hash ^ (hash >>> 29));
+    }
+
+    static boolean equals(ByteBuffer buffer, int offset, ByteBuffer otherBuffer, int otherOffset, int length) {
+        int index = 0;
+        for (; index + Long.BYTES <= length; index += Long.BYTES) {
+            if (buffer.getLong(offset + index) != otherBuffer.getLong(otherOffset + index)) {
+                return false;
+            }
+        }
+        for (; index < length; index++) {
+            if (buffer.get(offset + index) != otherBuffer.get(otherOffset + index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
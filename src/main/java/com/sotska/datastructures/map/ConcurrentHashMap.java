@@ -0,0 +1,487 @@
+package com.sotska.datastructures.map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Thread safe map built on the same bucket array of Entry chains as HashMap.
+// Reads take no locks: buckets are read with volatile semantics and chains are only changed by
+// volatile writes of next/value. An empty bucket is filled with CAS, any other update locks the
+// first entry of its bucket, so writers only contend when they hit the same bucket.
+// Resize is cooperative: threads claim ranges of buckets to copy into the new array and leave
+// a forwarding entry behind, other threads that meet a forwarding entry help with the rest.
+public class ConcurrentHashMap<K, V> implements Map<K, V> {
+
+    private static final int DEFAULT_BUCKET_COUNT = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int MIN_TRANSFER_STRIDE = 16;
+    // hashes of user entries are never negative, so special entries are told apart by hash
+    private static final int MOVED = -1;
+    private static final int RESERVED = -2;
+    private static final Object NULL_KEY = new Object();
+    private static final VarHandle BUCKET = MethodHandles.arrayElementVarHandle(Entry[].class);
+
+    private final double loadFactor;
+    private final LongAdder size = new LongAdder();
+    private final AtomicReference<Transfer<K, V>> currentTransfer = new AtomicReference<>();
+    private volatile Entry<K, V>[] buckets;
+    private volatile int threshold;
+
+    public ConcurrentHashMap() {
+        this(DEFAULT_BUCKET_COUNT, DEFAULT_LOAD_FACTOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentHashMap(int bucketCount, double loadFactor) {
+        this.loadFactor = loadFactor;
+        int tableSize = Integer.highestOneBit(Math.max(bucketCount, 2) - 1) << 1;
+        buckets = new Entry[tableSize];
+        threshold = (int) (tableSize * loadFactor);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    // puts the value only if there is no mapping for the key, returns the current value otherwise
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    // The mapping function is called at most once per absent key, under the lock of its bucket:
+    // it should be short and must not update this map. Null result leaves the key absent.
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        var table = buckets;
+        while (true) {
+            int bucketIndex = hash & (table.length - 1);
+            var head = bucketAt(table, bucketIndex);
+            if (head == null) {
+                var reservation = new Entry<K, V>(RESERVED, null, null);
+                Entry<K, V> newEntry = null;
+                boolean reserved = false;
+                synchronized (reservation) {
+                    if (casBucketAt(table, bucketIndex, null, reservation)) {
+                        reserved = true;
+                        try {
+                            V value = mappingFunction.apply(key);
+                            if (value != null) {
+                                newEntry = new Entry<>(hash, maskedKey, value);
+                            }
+                        } finally {
+                            setBucketAt(table, bucketIndex, newEntry);
+                        }
+                    }
+                }
+                if (reserved) {
+                    // outside the lock, as in put: a resize started here must not keep waiters of the bucket
+                    if (newEntry != null) {
+                        addCount(1, table);
+                    }
+                    return newEntry == null ? null : newEntry.value;
+                }
+            } else if (head.hash == MOVED) {
+                table = helpTransfer((ForwardingEntry<K, V>) head);
+            } else {
+                Entry<K, V> newEntry = null;
+                boolean found = false;
+                V value = null;
+                synchronized (head) {
+                    if (bucketAt(table, bucketIndex) != head) {
+                        continue;
+                    }
+                    var entry = head;
+                    while (true) {
+                        if (entry.hash == hash && Objects.equals(entry.key, maskedKey)) {
+                            found = true;
+                            value = entry.value;
+                            break;
+                        }
+                        if (entry.next == null) {
+                            value = mappingFunction.apply(key);
+                            if (value != null) {
+                                newEntry = new Entry<>(hash, maskedKey, value);
+                                entry.next = newEntry;
+                            }
+                            break;
+                        }
+                        entry = entry.next;
+                    }
+                }
+                if (!found && newEntry != null) {
+                    addCount(1, table);
+                }
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        var entry = getEntry(key);
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return getEntry(key) != null;
+    }
+
+    @Override
+    public V remove(K key) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        var table = buckets;
+        while (true) {
+            int bucketIndex = hash & (table.length - 1);
+            var head = bucketAt(table, bucketIndex);
+            if (head == null) {
+                return null;
+            }
+            if (head.hash == MOVED) {
+                table = helpTransfer((ForwardingEntry<K, V>) head);
+                continue;
+            }
+            Entry<K, V> removedEntry = null;
+            synchronized (head) {
+                if (bucketAt(table, bucketIndex) != head) {
+                    continue;
+                }
+                Entry<K, V> previous = null;
+                for (var entry = head; entry != null; previous = entry, entry = entry.next) {
+                    if (entry.hash == hash && Objects.equals(entry.key, maskedKey)) {
+                        if (previous == null) {
+                            setBucketAt(table, bucketIndex, entry.next);
+                        } else {
+                            previous.next = entry.next;
+                        }
+                        removedEntry = entry;
+                        break;
+                    }
+                }
+            }
+            if (removedEntry == null) {
+                return null;
+            }
+            size.decrement();
+            return removedEntry.value;
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    // weakly consistent: never throws because of concurrent updates and sees every entry that was
+    // present when the iterator was created and not removed since, later updates may or may not be seen
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new ConcurrentHashMapIterator();
+    }
+
+    // size may change while the entries are traversed, so the spliterator is not SIZED
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.CONCURRENT | Spliterator.DISTINCT);
+    }
+
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        var table = buckets;
+        while (true) {
+            int bucketIndex = hash & (table.length - 1);
+            var head = bucketAt(table, bucketIndex);
+            if (head == null) {
+                if (casBucketAt(table, bucketIndex, null, new Entry<>(hash, maskedKey, value))) {
+                    addCount(1, table);
+                    return null;
+                }
+            } else if (head.hash == MOVED) {
+                table = helpTransfer((ForwardingEntry<K, V>) head);
+            } else {
+                synchronized (head) {
+                    if (bucketAt(table, bucketIndex) != head) {
+                        continue;
+                    }
+                    var entry = head;
+                    while (true) {
+                        if (entry.hash == hash && Objects.equals(entry.key, maskedKey)) {
+                            var previousValue = entry.value;
+                            if (!onlyIfAbsent) {
+                                entry.value = value;
+                            }
+                            return previousValue;
+                        }
+                        if (entry.next == null) {
+                            entry.next = new Entry<>(hash, maskedKey, value);
+                            break;
+                        }
+                        entry = entry.next;
+                    }
+                }
+                addCount(1, table);
+                return null;
+            }
+        }
+    }
+
+    private Entry<K, V> getEntry(K key) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        var table = buckets;
+        var entry = bucketAt(table, hash & (table.length - 1));
+        while (entry != null) {
+            if (entry.hash == MOVED) {
+                table = ((ForwardingEntry<K, V>) entry).transfer.nextTable;
+                entry = bucketAt(table, hash & (table.length - 1));
+                continue;
+            }
+            if (entry.hash == hash && Objects.equals(entry.key, maskedKey)) {
+                return entry;
+            }
+            entry = entry.next;
+        }
+        return null;
+    }
+
+    private void addCount(int delta, Entry<K, V>[] table) {
+        size.add(delta);
+        if (size.sum() > threshold && table == buckets) {
+            startTransfer(table);
+        }
+    }
+
+    private void startTransfer(Entry<K, V>[] table) {
+        if (currentTransfer.get() != null) {
+            return;
+        }
+        var transfer = new Transfer<>(table);
+        if (buckets != table || !currentTransfer.compareAndSet(null, transfer)) {
+            return;
+        }
+        // another thread may have finished a transfer of this table between the check above and the CAS,
+        // buckets is published before currentTransfer is cleared, so reading it again tells
+        if (buckets != table) {
+            currentTransfer.compareAndSet(transfer, null);
+            return;
+        }
+        transfer(transfer);
+    }
+
+    private Entry<K, V>[] helpTransfer(ForwardingEntry<K, V> forwardingEntry) {
+        transfer(forwardingEntry.transfer);
+        return forwardingEntry.transfer.nextTable;
+    }
+
+    // every thread claims strides of buckets from the top of the old array until none are left,
+    // the thread that copies the last bucket publishes the new array
+    private void transfer(Transfer<K, V> transfer) {
+        int length = transfer.table.length;
+        int stride = Math.max(MIN_TRANSFER_STRIDE, length / (Runtime.getRuntime().availableProcessors() * 8));
+        while (true) {
+            int upperBound = transfer.transferIndex.get();
+            if (upperBound <= 0) {
+                return;
+            }
+            int lowerBound = Math.max(upperBound - stride, 0);
+            if (!transfer.transferIndex.compareAndSet(upperBound, lowerBound)) {
+                continue;
+            }
+            for (int bucketIndex = upperBound - 1; bucketIndex >= lowerBound; bucketIndex--) {
+                transferBucket(transfer, bucketIndex);
+            }
+            if (transfer.transferredBuckets.addAndGet(upperBound - lowerBound) == length) {
+                threshold = (int) (transfer.nextTable.length * loadFactor);
+                buckets = transfer.nextTable;
+                currentTransfer.set(null);
+                return;
+            }
+        }
+    }
+
+    // copies the chain into two chains of the new array, the old chain stays intact for readers
+    private void transferBucket(Transfer<K, V> transfer, int bucketIndex) {
+        var table = transfer.table;
+        var nextTable = transfer.nextTable;
+        while (true) {
+            var head = bucketAt(table, bucketIndex);
+            if (head == null) {
+                if (casBucketAt(table, bucketIndex, null, transfer.forwardingEntry)) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (head) {
+                if (bucketAt(table, bucketIndex) != head) {
+                    continue;
+                }
+                Entry<K, V> lowHead = null;
+                Entry<K, V> highHead = null;
+                for (var entry = head; entry != null; entry = entry.next) {
+                    Entry<K, V> copy = new Entry<>(entry.hash, entry.key, entry.value);
+                    if ((entry.hash & table.length) == 0) {
+                        copy.next = lowHead;
+                        lowHead = copy;
+                    } else {
+                        copy.next = highHead;
+                        highHead = copy;
+                    }
+                }
+                setBucketAt(nextTable, bucketIndex, lowHead);
+                setBucketAt(nextTable, bucketIndex + table.length, highHead);
+                setBucketAt(table, bucketIndex, transfer.forwardingEntry);
+                return;
+            }
+        }
+    }
+
+    private static int hash(Object maskedKey) {
+        int hash = maskedKey.hashCode();
+        return (hash ^ (hash >>> 16)) & Integer.MAX_VALUE;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Entry<K, V> bucketAt(Entry<K, V>[] table, int index) {
+        return (Entry<K, V>) BUCKET.getVolatile(table, index);
+    }
+
+    private static <K, V> boolean casBucketAt(Entry<K, V>[] table, int index, Entry<K, V> expected, Entry<K, V> entry) {
+        return BUCKET.compareAndSet(table, index, expected, entry);
+    }
+
+    private static <K, V> void setBucketAt(Entry<K, V>[] table, int index, Entry<K, V> entry) {
+        BUCKET.setVolatile(table, index, entry);
+    }
+
+    private class ConcurrentHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private final Entry<K, V>[] table = buckets;
+        private final Deque<Entry<K, V>> pendingChains = new ArrayDeque<>();
+        private int bucketIndex;
+        private Entry<K, V> nextEntry;
+        private Entry<K, V> lastReturned;
+
+        private ConcurrentHashMapIterator() {
+            advance(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (nextEntry == null) {
+                throw new NoSuchElementException("No such element at map.");
+            }
+            lastReturned = nextEntry;
+            advance(nextEntry.next);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Have no element to remove.");
+            }
+            ConcurrentHashMap.this.remove(lastReturned.getKey());
+            lastReturned = null;
+        }
+
+        private void advance(Entry<K, V> entry) {
+            while (entry == null || entry.hash < 0) {
+                if (entry != null) {
+                    entry = entry.next;
+                } else if (!pendingChains.isEmpty()) {
+                    entry = pendingChains.pop();
+                } else if (bucketIndex < table.length) {
+                    pushChains(table, bucketIndex++);
+                } else {
+                    nextEntry = null;
+                    return;
+                }
+            }
+            nextEntry = entry;
+        }
+
+        // a moved bucket i of an array of length n lives in buckets i and i + n of the next array
+        private void pushChains(Entry<K, V>[] currentTable, int index) {
+            var head = bucketAt(currentTable, index);
+            if (head instanceof ForwardingEntry<K, V> forwardingEntry) {
+                pushChains(forwardingEntry.transfer.nextTable, index + currentTable.length);
+                pushChains(forwardingEntry.transfer.nextTable, index);
+            } else if (head != null) {
+                pendingChains.push(head);
+            }
+        }
+    }
+
+    private static class Entry<K, V> implements Map.Entry<K, V> {
+        private final int hash;
+        private final Object key;
+        private volatile V value;
+        private volatile Entry<K, V> next;
+
+        private Entry(int hash, Object key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K getKey() {
+            return key == NULL_KEY ? null : (K) key;
+        }
+    }
+
+    private static class ForwardingEntry<K, V> extends Entry<K, V> {
+        private final Transfer<K, V> transfer;
+
+        private ForwardingEntry(Transfer<K, V> transfer) {
+            super(MOVED, null, null);
+            this.transfer = transfer;
+        }
+    }
+
+    // state of one resize, shared by all threads that help with it
+    private static class Transfer<K, V> {
+        private final Entry<K, V>[] table;
+        private final Entry<K, V>[] nextTable;
+        private final ForwardingEntry<K, V> forwardingEntry = new ForwardingEntry<>(this);
+        // buckets with index below transferIndex are not claimed by any thread yet
+        private final AtomicInteger transferIndex;
+        private final AtomicInteger transferredBuckets = new AtomicInteger();
+
+        @SuppressWarnings("unchecked")
+        private Transfer(Entry<K, V>[] table) {
+            this.table = table;
+            this.nextTable = new Entry[table.length * 2];
+            this.transferIndex = new AtomicInteger(table.length);
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package com.sotska.datastructures.map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread safe sorted map without locks, kept in a skip list. Every node is linked at level 0 and,
+// with probability 1/2 per level, at the levels above, so a search skips most nodes in O(log n).
+// Links are AtomicMarkableReference: a node is inserted by CAS of the link before it and a marked link
+// means the node that owns it is being removed, no one may link after it anymore.
+// remove first replaces the value with REMOVED by CAS, which decides the race with put and other removes,
+// then marks the links of the node top down, the node is unlinked by any thread whose search passes it.
+// Iterators are weakly consistent: they never throw on concurrent changes and may or may not see them.
+// Keys are ordered by the comparator, or by natural order with null before every other key.
+public class ConcurrentSkipListMap<K, V> implements Map<K, V> {
+
+    private static final int MAX_LEVEL = 32;
+    private static final Object NULL_VALUE = new Object();
+    private static final Object REMOVED = new Object();
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Node.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Comparator<? super K> comparator;
+    private final Node head = new Node(null, null, MAX_LEVEL);
+    private final LongAdder size = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentSkipListMap() {
+        this((Comparator<? super K>) Comparator.nullsFirst((Comparator<Comparable<Object>>) Comparator.naturalOrder()));
+    }
+
+    public ConcurrentSkipListMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        var predecessors = new Node[MAX_LEVEL];
+        var successors = new Node[MAX_LEVEL];
+        var maskedValue = maskNull(value);
+        while (true) {
+            if (find(key, predecessors, successors)) {
+                var node = successors[0];
+                var currentValue = node.value;
+                if (currentValue == REMOVED) {
+                    // a remove has won the node, help it out of the list and insert a new one
+                    markLinks(node);
+                    continue;
+                }
+                if (VALUE.compareAndSet(node, currentValue, maskedValue)) {
+                    return unmaskNull(currentValue);
+                }
+                continue;
+            }
+            var newNode = new Node(key, maskedValue, randomLevel());
+            for (int level = 0; level < newNode.next.length; level++) {
+                newNode.next[level].set(successors[level], false);
+            }
+            if (!predecessors[0].next[0].compareAndSet(successors[0], newNode, false, false)) {
+                continue;
+            }
+            size.increment();
+            linkUpperLevels(newNode, predecessors, successors);
+            return null;
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        var node = findNode(key);
+        if (node == null) {
+            return null;
+        }
+        // read the value once, a remove may replace it with REMOVED at any moment
+        var value = node.value;
+        return value == REMOVED ? null : unmaskNull(value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        var node = findNode(key);
+        return node != null && node.value != REMOVED;
+    }
+
+    @Override
+    public V remove(K key) {
+        var predecessors = new Node[MAX_LEVEL];
+        var successors = new Node[MAX_LEVEL];
+        while (true) {
+            if (!find(key, predecessors, successors)) {
+                return null;
+            }
+            var node = successors[0];
+            var currentValue = node.value;
+            if (currentValue == REMOVED) {
+                markLinks(node);
+                return null;
+            }
+            if (VALUE.compareAndSet(node, currentValue, REMOVED)) {
+                unlink(node, predecessors, successors);
+                return unmaskNull(currentValue);
+            }
+        }
+    }
+
+    // removes and returns the entry with the smallest key, null if the map is empty
+    public Map.Entry<K, V> pollFirst() {
+        while (true) {
+            var node = head.next[0].getReference();
+            while (node != null && node.value == REMOVED) {
+                node = node.next[0].getReference();
+            }
+            if (node == null) {
+                return null;
+            }
+            var currentValue = node.value;
+            if (currentValue != REMOVED && VALUE.compareAndSet(node, currentValue, REMOVED)) {
+                unlink(node, new Node[MAX_LEVEL], new Node[MAX_LEVEL]);
+                return new SkipListEntry<>(node, currentValue);
+            }
+        }
+    }
+
+    // entry with the smallest key, null if the map is empty
+    public Map.Entry<K, V> firstEntry() {
+        var node = head.next[0].getReference();
+        while (node != null) {
+            var entry = entryOf(node);
+            if (entry != null) {
+                return entry;
+            }
+            node = node.next[0].getReference();
+        }
+        return null;
+    }
+
+    // entry with the largest key, null if the map is empty
+    public Map.Entry<K, V> lastEntry() {
+        return lowerEntry(null, false);
+    }
+
+    // number of entries, only an estimate while other threads change the map
+    @Override
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    public boolean isEmpty() {
+        return firstEntry() == null;
+    }
+
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    // entries with keys from fromKey inclusive to toKey exclusive in ascending order
+    public Iterable<Map.Entry<K, V>> subMap(K fromKey, K toKey) {
+        checkRange(fromKey, toKey);
+        return () -> new AscendingIterator(fromKey, true, toKey, true);
+    }
+
+    // entries with keys from fromKey inclusive to toKey exclusive in descending order
+    public Iterable<Map.Entry<K, V>> descendingSubMap(K fromKey, K toKey) {
+        checkRange(fromKey, toKey);
+        return () -> new DescendingIterator(toKey, true, fromKey, true);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new AscendingIterator(null, false, null, false);
+    }
+
+    public Iterator<Map.Entry<K, V>> descendingIterator() {
+        return new DescendingIterator(null, false, null, false);
+    }
+
+    // size may change while the entries are traversed, so the spliterator is not SIZED
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.CONCURRENT | Spliterator.DISTINCT | Spliterator.ORDERED);
+    }
+
+    // fills predecessors and successors of the key on every level, unlinking marked nodes on the way,
+    // returns true if successors[0] holds the key
+    private boolean find(Object key, Node[] predecessors, Node[] successors) {
+        var marked = new boolean[1];
+        retry:
+        while (true) {
+            var predecessor = head;
+            Node current = null;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                current = predecessor.next[level].getReference();
+                while (current != null) {
+                    var successor = current.next[level].get(marked);
+                    if (marked[0]) {
+                        if (!predecessor.next[level].compareAndSet(current, successor, false, false)) {
+                            continue retry;
+                        }
+                        current = successor;
+                        continue;
+                    }
+                    if (compare(current.key, key) >= 0) {
+                        break;
+                    }
+                    predecessor = current;
+                    current = successor;
+                }
+                predecessors[level] = predecessor;
+                successors[level] = current;
+            }
+            return current != null && compare(current.key, key) == 0;
+        }
+    }
+
+    // search without unlinking, marked nodes are passed like any other node,
+    // the node returned may be removed already, callers check its value
+    private Node findNode(Object key) {
+        var predecessor = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            var current = predecessor.next[level].getReference();
+            while (current != null) {
+                int comparison = compare(current.key, key);
+                if (comparison == 0) {
+                    return current;
+                }
+                if (comparison > 0) {
+                    break;
+                }
+                predecessor = current;
+                current = current.next[level].getReference();
+            }
+        }
+        return null;
+    }
+
+    // first live node with key greater than (or equal to if inclusive) the key
+    private Node higherNode(Object key, boolean inclusive) {
+        var predecessor = head;
+        Node current = null;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            current = predecessor.next[level].getReference();
+            while (current != null && compare(current.key, key) < 0) {
+                predecessor = current;
+                current = current.next[level].getReference();
+            }
+        }
+        while (current != null && (current.value == REMOVED || !inclusive && compare(current.key, key) == 0)) {
+            current = current.next[0].getReference();
+        }
+        return current;
+    }
+
+    // live entry with the largest key less than the key, or the last entry if there is no bound,
+    // skip lists have no backward links, so every call searches from the head
+    private SkipListEntry<K, V> lowerEntry(Object key, boolean hasBound) {
+        while (true) {
+            var predecessor = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                var current = predecessor.next[level].getReference();
+                while (current != null && (!hasBound || compare(current.key, key) < 0)) {
+                    predecessor = current;
+                    current = current.next[level].getReference();
+                }
+            }
+            if (predecessor == head) {
+                return null;
+            }
+            var entry = entryOf(predecessor);
+            if (entry != null) {
+                return entry;
+            }
+            // the node was removed meanwhile, look below it
+            key = predecessor.key;
+            hasBound = true;
+        }
+    }
+
+    // links the node at levels above 0 after it is linked at level 0, stops if the node is removed meanwhile
+    private void linkUpperLevels(Node newNode, Node[] predecessors, Node[] successors) {
+        var marked = new boolean[1];
+        for (int level = 1; level < newNode.next.length; level++) {
+            while (true) {
+                var next = newNode.next[level].get(marked);
+                if (marked[0]) {
+                    return;
+                }
+                if (next != successors[level] && !newNode.next[level].compareAndSet(next, successors[level], false, false)) {
+                    continue;
+                }
+                if (predecessors[level].next[level].compareAndSet(successors[level], newNode, false, false)) {
+                    break;
+                }
+                if (!find(newNode.key, predecessors, successors) || successors[0] != newNode) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // removes the node only while it still holds the value, so a newer mapping of the key stays
+    private void removeNode(Node node, Object expectedValue) {
+        if (VALUE.compareAndSet(node, expectedValue, REMOVED)) {
+            unlink(node, new Node[MAX_LEVEL], new Node[MAX_LEVEL]);
+        }
+    }
+
+    private void unlink(Node node, Node[] predecessors, Node[] successors) {
+        markLinks(node);
+        size.decrement();
+        // the search unlinks every marked node it passes
+        find(node.key, predecessors, successors);
+    }
+
+    // marks the links of the node from the top level down, level 0 last
+    private void markLinks(Node node) {
+        var marked = new boolean[1];
+        for (int level = node.next.length - 1; level >= 0; level--) {
+            var next = node.next[level].get(marked);
+            while (!marked[0]) {
+                node.next[level].compareAndSet(next, next, false, true);
+                next = node.next[level].get(marked);
+            }
+        }
+    }
+
+    private SkipListEntry<K, V> entryOf(Node node) {
+        var value = node.value;
+        return value == REMOVED ? null : new SkipListEntry<>(node, value);
+    }
+
+    private void checkRange(K fromKey, K toKey) {
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("From key should not be greater than to key. Current from key is "
+                    + fromKey + " to key is " + toKey);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object first, Object second) {
+        return comparator.compare((K) first, (K) second);
+    }
+
+    private static int randomLevel() {
+        // every trailing zero of a random number has probability 1/2
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1))) + 1;
+    }
+
+    private static Object maskNull(Object value) {
+        return value == null ? NULL_VALUE : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unmaskNull(Object value) {
+        return value == NULL_VALUE ? null : (V) value;
+    }
+
+    private abstract class SkipListIterator implements Iterator<Map.Entry<K, V>> {
+        SkipListEntry<K, V> nextEntry;
+        private SkipListEntry<K, V> lastReturned;
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (nextEntry == null) {
+                throw new NoSuchElementException("No such element at map.");
+            }
+            lastReturned = nextEntry;
+            advance();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("Have no element to remove.");
+            }
+            // removing by key could drop a value put after this entry was returned
+            removeNode(lastReturned.node, lastReturned.maskedValue);
+            lastReturned = null;
+        }
+
+        abstract void advance();
+    }
+
+    // walks level 0 from the first key of the range
+    private class AscendingIterator extends SkipListIterator {
+        private final Object toKey;
+        private final boolean hasUpperBound;
+        private Node nextNode;
+
+        private AscendingIterator(Object fromKey, boolean hasLowerBound, Object toKey, boolean hasUpperBound) {
+            this.toKey = toKey;
+            this.hasUpperBound = hasUpperBound;
+            nextNode = hasLowerBound ? higherNode(fromKey, true) : head;
+            if (!hasLowerBound) {
+                advance();
+            } else {
+                takeNode();
+            }
+        }
+
+        @Override
+        void advance() {
+            nextNode = nextNode.next[0].getReference();
+            takeNode();
+        }
+
+        private void takeNode() {
+            while (nextNode != null) {
+                if (hasUpperBound && compare(nextNode.key, toKey) >= 0) {
+                    break;
+                }
+                nextEntry = entryOf(nextNode);
+                if (nextEntry != null) {
+                    return;
+                }
+                nextNode = nextNode.next[0].getReference();
+            }
+            nextNode = null;
+            nextEntry = null;
+        }
+    }
+
+    // every step searches the largest key below the last returned one
+    private class DescendingIterator extends SkipListIterator {
+        private final Object fromKey;
+        private final boolean hasLowerBound;
+
+        private DescendingIterator(Object toKey, boolean hasUpperBound, Object fromKey, boolean hasLowerBound) {
+            this.fromKey = fromKey;
+            this.hasLowerBound = hasLowerBound;
+            takeEntry(lowerEntry(toKey, hasUpperBound));
+        }
+
+        @Override
+        void advance() {
+            takeEntry(lowerEntry(nextEntry.getKey(), true));
+        }
+
+        private void takeEntry(SkipListEntry<K, V> entry) {
+            nextEntry = entry != null && hasLowerBound && compare(entry.getKey(), fromKey) < 0 ? null : entry;
+        }
+    }
+
+    // keeps the node and the masked value it was read from, so an iterator removes exactly this mapping
+    private static class SkipListEntry<K, V> implements Map.Entry<K, V> {
+        private final Node node;
+        private final Object maskedValue;
+
+        private SkipListEntry(Node node, Object maskedValue) {
+            this.node = node;
+            this.maskedValue = maskedValue;
+        }
+
+        @Override
+        public K getKey() {
+            return node.key();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return maskedValue == NULL_VALUE ? null : (V) maskedValue;
+        }
+    }
+
+    private static class Node {
+        private final Object key;
+        private volatile Object value;
+        private final AtomicMarkableReference<Node>[] next;
+
+        @SuppressWarnings("unchecked")
+        private Node(Object key, Object value, int level) {
+            this.key = key;
+            this.value = value;
+            next = new AtomicMarkableReference[level];
+            for (int i = 0; i < level; i++) {
+                next[i] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <K> K key() {
+            return (K) key;
+        }
+    }
+}
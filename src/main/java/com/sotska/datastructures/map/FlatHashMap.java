@@ -0,0 +1,243 @@
+package com.sotska.datastructures.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// Open addressing map: keys and values live in flat parallel arrays, no Entry object per key.
+// Every slot has a control byte: EMPTY or the top 7 bits of the key hash with the high bit set,
+// so probing compares bytes and touches the keys array only on a probable match.
+// Collisions are resolved by linear probing, removal shifts the rest of the cluster back (no tombstones).
+public class FlatHashMap<K, V> implements Map<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final byte EMPTY = 0;
+    private static final int OCCUPIED = 0x80;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private final double loadFactor;
+    private byte[] controls;
+    private K[] keys;
+    private V[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public FlatHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public FlatHashMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public FlatHashMap(int capacity, double loadFactor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should not be negative. Current capacity is " + capacity);
+        }
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor should be between 0 and 1. Current load factor is " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.ceil(capacity / loadFactor)));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (size >= threshold) {
+            resize(controls.length * 2);
+        }
+        int hash = hash(key);
+        byte control = control(hash);
+        int index = hash & mask;
+        while (controls[index] != EMPTY) {
+            if (controls[index] == control && Objects.equals(keys[index], key)) {
+                var previousValue = values[index];
+                values[index] = value;
+                return previousValue;
+            }
+            index = (index + 1) & mask;
+        }
+        controls[index] = control;
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        int index = findIndex(key);
+        return index == -1 ? null : values[index];
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findIndex(key) != -1;
+    }
+
+    @Override
+    public V remove(K key) {
+        int index = findIndex(key);
+        if (index == -1) {
+            return null;
+        }
+        var valueToRemove = values[index];
+        removeAt(index);
+        return valueToRemove;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new FlatHashMapIterator();
+    }
+
+    private int findIndex(K key) {
+        int hash = hash(key);
+        byte control = control(hash);
+        int index = hash & mask;
+        while (controls[index] != EMPTY) {
+            if (controls[index] == control && Objects.equals(keys[index], key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // backward shift deletion: every following key of the cluster that may live closer
+    // to its home slot is moved into the gap, until an empty slot ends the cluster
+    private void removeAt(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (controls[index] == EMPTY) {
+                break;
+            }
+            int home = hash(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                controls[gap] = controls[index];
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        controls[gap] = EMPTY;
+        keys[gap] = null;
+        values[gap] = null;
+        size--;
+    }
+
+    private void resize(int newCapacity) {
+        var oldControls = controls;
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldControls.length; i++) {
+            if (oldControls[i] != EMPTY) {
+                int index = hash(oldKeys[i]) & mask;
+                while (controls[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                controls[index] = oldControls[i];
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        controls = new byte[capacity];
+        keys = (K[]) new Object[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        return Math.max(tableSize, 2);
+    }
+
+    private static int hash(Object key) {
+        int hash = key == null ? 0 : key.hashCode() * GOLDEN_RATIO;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static byte control(int hash) {
+        return (byte) (OCCUPIED | (hash >>> 25));
+    }
+
+    // Iteration starts right after an empty slot, so no cluster wraps around the end of the walk
+    // and removal only ever shifts not yet visited keys back into visited slots.
+    private class FlatHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private final int start = findEmptySlot();
+        private int offset;
+        private int lastReturnedIndex = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (offset < controls.length && controls[(start + offset) & mask] == EMPTY) {
+                offset++;
+            }
+            return offset < controls.length;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No such element at map.");
+            }
+            lastReturnedIndex = (start + offset) & mask;
+            offset++;
+            return new Entry<>(keys[lastReturnedIndex], values[lastReturnedIndex]);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedIndex == -1) {
+                throw new IllegalStateException("Have no element to remove.");
+            }
+            removeAt(lastReturnedIndex);
+            if (controls[lastReturnedIndex] != EMPTY) {
+                offset--;
+            }
+            lastReturnedIndex = -1;
+        }
+
+        private int findEmptySlot() {
+            int index = 0;
+            while (controls[index] != EMPTY) {
+                index++;
+            }
+            return index;
+        }
+    }
+
+    private static class Entry<K, V> implements Map.Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
@@ -1,57 +1,93 @@
 package com.sotska.datastructures.map;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class HashMap<K, V> implements Map<K, V> {
 
     private static final int DEFAULT_BUCKET_COUNT = 5;
     private static final double DEFAULT_LOAD_FACTOR = 0.75;
     private static final int DEFAULT_GROW_FACTOR = 2;
+    // non empty buckets moved to the new bucket array by one put or remove during incremental resize
+    private static final int REHASH_BUCKETS_PER_STEP = 4;
+    // empty buckets one step may skip, keeps a step bounded on sparse bucket arrays
+    private static final int REHASH_EMPTY_VISITS_PER_STEP = REHASH_BUCKETS_PER_STEP * 10;
+    // smaller batches are looked up in the given order, larger ones are sorted by bucket index first
+    private static final int BUCKET_ORDER_THRESHOLD = 32;
+    // a chain of this length is turned into a tree bin, a tree bin of UNTREEIFY_THRESHOLD entries back into a chain
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    // long chains of a small bucket array are left to the next resize
+    private static final int MIN_TREEIFY_BUCKET_COUNT = 64;
     private final double loadFactor;
     private final int growFactor;
+    private final boolean incrementalResize;
     private Entry<K, V>[] buckets;
+    // while incremental resize is in progress entries are spread over buckets and newBuckets,
+    // buckets with index less than rehashIndex are already moved
+    private Entry<K, V>[] newBuckets;
+    private int rehashIndex;
     private int size;
 
     public HashMap() {
         this(DEFAULT_BUCKET_COUNT, DEFAULT_LOAD_FACTOR, DEFAULT_GROW_FACTOR);
     }
 
-    @SuppressWarnings("unchecked")
     public HashMap(int bucketCount, double loadFactor, int growFactor) {
+        this(bucketCount, loadFactor, growFactor, false);
+    }
+
+    // incrementalResize = false: all entries are rehashed at once by the put that overflows the map
+    // incrementalResize = true: old and new bucket arrays are kept side by side and every put/remove
+    // moves a few buckets, so no single operation pays for rehashing the whole map
+    @SuppressWarnings("unchecked")
+    public HashMap(int bucketCount, double loadFactor, int growFactor, boolean incrementalResize) {
         this.loadFactor = loadFactor;
         this.growFactor = growFactor;
+        this.incrementalResize = incrementalResize;
         buckets = new Entry[bucketCount];
     }
 
     @Override
     public V put(K key, V value) {
+        rehashStep();
+        int hash = hash(key);
+        var entry = getEntry(key, hash);
+        if (entry != null) {
+            var previousValue = entry.value;
+            entry.value = value;
+            return previousValue;
+        }
+        size++;
         checkOccupancyAndGrowBucketCount();
-        return put(key, value, buckets);
+        link(newBuckets == null ? buckets : newBuckets, new Entry<>(hash, key, value));
+        return null;
     }
 
     @Override
     public V get(K key) {
-        var bucket = getBucketByKey(key);
-        return bucket == null ? null : bucket.value;
+        var entry = getEntry(key, hash(key));
+        return entry == null ? null : entry.value;
     }
 
     @Override
     public boolean containsKey(K key) {
-        return getBucketByKey(key) != null;
+        return getEntry(key, hash(key)) != null;
     }
 
     @Override
     public V remove(K key) {
-        for (var iterator = this.iterator(); iterator.hasNext(); ) {
-            var nextEntry = iterator.next();
-            if (nextEntry.getKey().equals(key)) {
-                V valueToRemove = nextEntry.getValue();
-                iterator.remove();
-                return valueToRemove;
-            }
+        rehashStep();
+        int hash = hash(key);
+        var removedEntry = newBuckets == null ? null : removeEntry(newBuckets, key, hash);
+        if (removedEntry == null) {
+            removedEntry = removeEntry(buckets, key, hash);
         }
-        return null;
+        return removedEntry == null ? null : removedEntry.value;
     }
 
     @Override
@@ -59,41 +95,75 @@ public class HashMap<K, V> implements Map<K, V> {
         return size;
     }
 
+    // grows the bucket array once for the whole batch instead of once per overflowing put
     @Override
-    public Iterator<Map.Entry<K, V>> iterator() {
-        return new HashMapIterator<>();
+    public void putAll(Map<? extends K, ? extends V> other) {
+        ensureBucketCount(size + other.size());
+        for (Map.Entry<? extends K, ? extends V> entry : other) {
+            put(entry.getKey(), entry.getValue());
+        }
     }
 
-    private V put(K key, V value, Entry<K, V>[] targetBuckets) {
-        var bucketIndex = getBucketIndex(key, targetBuckets.length);
-        var currentEntry = targetBuckets[bucketIndex];
-
-        if (currentEntry == null) {
-            var newEntry = new Entry<>(key, value);
-            targetBuckets[bucketIndex] = newEntry;
-        } else {
-            while (currentEntry != null) {
-                if (currentEntry.key == key) {
-                    var previousValue = currentEntry.value;
-                    currentEntry.value = value;
-                    return previousValue;
-                }
-                currentEntry = currentEntry.next;
+    // keys are visited in bucket order, so neighbouring buckets are read one after another
+    @Override
+    public void getAll(K[] keys, V[] values) {
+        if (values.length < keys.length) {
+            throw new IllegalArgumentException("Values array should not be shorter than keys array. Keys length is "
+                    + keys.length + " values length is " + values.length);
+        }
+        if (keys.length < BUCKET_ORDER_THRESHOLD) {
+            for (int i = 0; i < keys.length; i++) {
+                values[i] = get(keys[i]);
             }
-            var newEntry = new Entry<>(key, value);
-            newEntry.next = targetBuckets[bucketIndex];
-            targetBuckets[bucketIndex] = newEntry;
+            return;
+        }
+        var hashes = new int[keys.length];
+        for (int keyIndex : bucketOrder(keys, hashes)) {
+            var entry = getEntry(keys[keyIndex], hashes[keyIndex]);
+            values[keyIndex] = entry == null ? null : entry.value;
         }
-        size++;
-        return null;
     }
 
-    private int getBucketIndex(K key, int bucketsLength) {
-        if (key == null) {
-            return 0;
+    @Override
+    public int removeAll(K[] keys) {
+        var hashes = new int[keys.length];
+        int removed = 0;
+        for (int keyIndex : bucketOrder(keys, hashes)) {
+            rehashStep();
+            var key = keys[keyIndex];
+            int hash = hashes[keyIndex];
+            var removedEntry = newBuckets == null ? null : removeEntry(newBuckets, key, hash);
+            if (removedEntry == null) {
+                removedEntry = removeEntry(buckets, key, hash);
+            }
+            if (removedEntry != null) {
+                removed++;
+            }
         }
-        int hash = key.hashCode();
+        return removed;
+    }
 
+    // true while an incremental resize has entries in both bucket arrays
+    public boolean isResizing() {
+        return newBuckets != null;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new HashMapIterator();
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        var fence = buckets.length + (newBuckets == null ? 0 : newBuckets.length);
+        return new HashMapSpliterator(buckets, newBuckets, 0, fence, size, true);
+    }
+
+    private int hash(K key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    private int getBucketIndex(int hash, int bucketsLength) {
         if (hash == Integer.MIN_VALUE) {
             return 0;
         } else {
@@ -101,10 +171,25 @@ public class HashMap<K, V> implements Map<K, V> {
         }
     }
 
-    private Entry<K, V> getBucketByKey(K key) {
-        var entry = buckets[getBucketIndex(key, buckets.length)];
+    // lookups never move entries, so reading the map while iterating it is safe during a resize
+    private Entry<K, V> getEntry(K key, int hash) {
+        if (newBuckets != null) {
+            var entry = getEntry(newBuckets, key, hash);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return getEntry(buckets, key, hash);
+    }
+
+    private Entry<K, V> getEntry(Entry<K, V>[] targetBuckets, K key, int hash) {
+        var entry = targetBuckets[getBucketIndex(hash, targetBuckets.length)];
+        if (entry instanceof TreeBin<K, V> bin) {
+            var node = bin.find(hash, key);
+            return node == null ? null : node.entry;
+        }
         while (entry != null) {
-            if (entry.key.equals(key)) {
+            if (entry.hash == hash && Objects.equals(entry.key, key)) {
                 return entry;
             }
             entry = entry.next;
@@ -112,98 +197,319 @@ public class HashMap<K, V> implements Map<K, V> {
         return null;
     }
 
+    private Entry<K, V> removeEntry(Entry<K, V>[] targetBuckets, K key, int hash) {
+        var bucketIndex = getBucketIndex(hash, targetBuckets.length);
+        Entry<K, V> previous = null;
+        var entry = targetBuckets[bucketIndex];
+        if (entry instanceof TreeBin<K, V> bin) {
+            var node = bin.find(hash, key);
+            if (node == null) {
+                return null;
+            }
+            removeFromBin(targetBuckets, bucketIndex, bin, node);
+            return node.entry;
+        }
+        while (entry != null) {
+            if (entry.hash == hash && Objects.equals(entry.key, key)) {
+                unlink(targetBuckets, bucketIndex, previous, entry);
+                return entry;
+            }
+            previous = entry;
+            entry = entry.next;
+        }
+        return null;
+    }
+
+    private void removeEntry(Entry<K, V>[] targetBuckets, Entry<K, V> entryToRemove) {
+        var bucketIndex = getBucketIndex(entryToRemove.hash, targetBuckets.length);
+        Entry<K, V> previous = null;
+        var entry = targetBuckets[bucketIndex];
+        if (entry instanceof TreeBin<K, V> bin) {
+            removeFromBin(targetBuckets, bucketIndex, bin, bin.find(entryToRemove.hash, entryToRemove.key));
+            return;
+        }
+        while (entry != entryToRemove) {
+            previous = entry;
+            entry = entry.next;
+        }
+        unlink(targetBuckets, bucketIndex, previous, entry);
+    }
+
+    private void unlink(Entry<K, V>[] targetBuckets, int bucketIndex, Entry<K, V> previous, Entry<K, V> entry) {
+        if (previous == null) {
+            targetBuckets[bucketIndex] = entry.next;
+        } else {
+            previous.next = entry.next;
+        }
+        size--;
+    }
+
+    // entries of a tree bin stay linked by next, so the chain is ready once the tree is dropped
+    private void removeFromBin(Entry<K, V>[] targetBuckets, int bucketIndex, TreeBin<K, V> bin, TreeNode<K, V> node) {
+        bin.remove(node);
+        if (bin.count <= UNTREEIFY_THRESHOLD) {
+            targetBuckets[bucketIndex] = bin.first.entry;
+        }
+        size--;
+    }
+
+    private void link(Entry<K, V>[] targetBuckets, Entry<K, V> entry) {
+        var bucketIndex = getBucketIndex(entry.hash, targetBuckets.length);
+        var head = targetBuckets[bucketIndex];
+        if (head instanceof TreeBin<K, V> bin) {
+            bin.add(entry);
+            return;
+        }
+        entry.next = head;
+        targetBuckets[bucketIndex] = entry;
+        if (targetBuckets.length >= MIN_TREEIFY_BUCKET_COUNT && isLongChain(entry)) {
+            targetBuckets[bucketIndex] = new TreeBin<>(entry);
+        }
+    }
+
+    private boolean isLongChain(Entry<K, V> entry) {
+        int length = 0;
+        while (entry != null && length < TREEIFY_THRESHOLD) {
+            length++;
+            entry = entry.next;
+        }
+        return length == TREEIFY_THRESHOLD;
+    }
+
+    private static <K, V> Entry<K, V> firstEntry(Entry<K, V> head) {
+        return head instanceof TreeBin<K, V> bin ? bin.first.entry : head;
+    }
+
+    // computes hashes of the keys and returns key indexes sorted by bucket index
+    private int[] bucketOrder(K[] keys, int[] hashes) {
+        var bucketsLength = buckets.length;
+        var order = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            hashes[i] = hash(keys[i]);
+            order[i] = (long) getBucketIndex(hashes[i], bucketsLength) << 32 | i;
+        }
+        if (keys.length >= BUCKET_ORDER_THRESHOLD) {
+            Arrays.sort(order);
+        }
+        var keyIndexes = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            keyIndexes[i] = (int) order[i];
+        }
+        return keyIndexes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void ensureBucketCount(int expectedSize) {
+        var targetBuckets = newBuckets == null ? buckets : newBuckets;
+        int bucketCount = targetBuckets.length;
+        while (bucketCount * loadFactor < expectedSize) {
+            // a grow factor of 1 or an empty table would never reach the size by multiplying alone
+            bucketCount = Math.max(bucketCount + 1, bucketCount * growFactor);
+        }
+        if (bucketCount == targetBuckets.length) {
+            return;
+        }
+        if (newBuckets != null) {
+            if (incrementalResize) {
+                // a running resize can not change its target without moving every entry again at once,
+                // it keeps going step by step and the puts grow the map as usual
+                return;
+            }
+            finishRehash();
+        }
+        newBuckets = new Entry[bucketCount];
+        rehashIndex = 0;
+        if (!incrementalResize) {
+            finishRehash();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void checkOccupancyAndGrowBucketCount() {
-        if (buckets.length * loadFactor < size) {
-            var newBuckets = new Entry[buckets.length * growFactor];
-            for (Map.Entry<K, V> entry : this) {
-                var indexAtNewBuckets = getBucketIndex(entry.getKey(), newBuckets.length);
-                var newBucket = newBuckets[indexAtNewBuckets];
-
-                if (newBucket != null) {
-                    ((Entry<K, V>) entry).next = null;
-                    newBucket.next = (Entry<K, V>) entry;
-                }
-                newBuckets[indexAtNewBuckets] = (Entry<K, V>) entry;
+        if (newBuckets != null && newBuckets.length * loadFactor < size) {
+            finishRehash();
+        }
+        if (newBuckets == null && buckets.length * loadFactor < size) {
+            newBuckets = new Entry[buckets.length * growFactor];
+            rehashIndex = 0;
+            if (!incrementalResize) {
+                finishRehash();
+            }
+        }
+    }
+
+    private void rehashStep() {
+        if (newBuckets == null) {
+            return;
+        }
+        int movedBuckets = 0;
+        int emptyVisits = 0;
+        while (rehashIndex < buckets.length && movedBuckets < REHASH_BUCKETS_PER_STEP
+                && emptyVisits < REHASH_EMPTY_VISITS_PER_STEP) {
+            if (buckets[rehashIndex] == null) {
+                emptyVisits++;
+            } else {
+                moveBucket(rehashIndex);
+                movedBuckets++;
             }
+            rehashIndex++;
+        }
+        if (rehashIndex == buckets.length) {
             buckets = newBuckets;
+            newBuckets = null;
+        }
+    }
+
+    private void finishRehash() {
+        for (; rehashIndex < buckets.length; rehashIndex++) {
+            moveBucket(rehashIndex);
         }
+        buckets = newBuckets;
+        newBuckets = null;
     }
 
-    private class HashMapIterator<E> implements Iterator<Map.Entry<K, V>> {
-        private int bucketIndex;
-        private Entry<K, V> currentEntry = iterateToNextBucket();
-        private boolean firstIteration = true;
-        private boolean canRemove;
+    private void moveBucket(int bucketIndex) {
+        var entry = firstEntry(buckets[bucketIndex]);
+        while (entry != null) {
+            var next = entry.next;
+            link(newBuckets, entry);
+            entry = next;
+        }
+        buckets[bucketIndex] = null;
+    }
+
+    // walks the old bucket array first and the new one after it, so every entry is met exactly once
+    private class HashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private Entry<K, V>[] currentBuckets = buckets;
+        private int bucketIndex = -1;
+        private Entry<K, V> nextEntry;
+        private Entry<K, V> lastReturned;
+        private Entry<K, V>[] lastReturnedBuckets;
+
+        private HashMapIterator() {
+            iterateToNextBucket();
+        }
 
         @Override
         public boolean hasNext() {
-            if (firstIteration) {
-                return currentEntry != null;
-            }
-            return currentEntry.next != null;
+            return nextEntry != null;
         }
 
         @Override
         public Entry<K, V> next() {
-            if (firstIteration) {
-                firstIteration = false;
-                canRemove = true;
-                return currentEntry;
-            }
-            if (currentEntry.next == null) {
-                currentEntry = iterateToNextBucket();
-            }
-            if (currentEntry == null) {
+            if (nextEntry == null) {
                 throw new NoSuchElementException("No such element at map.");
             }
-            canRemove = true;
-            currentEntry = currentEntry.next;
-            return currentEntry;
+            lastReturned = nextEntry;
+            lastReturnedBuckets = currentBuckets;
+            nextEntry = nextEntry.next;
+            if (nextEntry == null) {
+                iterateToNextBucket();
+            }
+            return lastReturned;
         }
 
         @Override
         public void remove() {
-            if (!canRemove) {
+            if (lastReturned == null) {
                 throw new IllegalStateException("Have no element to remove.");
             }
-            var index = getBucketIndex(currentEntry.key, buckets.length);
-            var bucket = buckets[index];
-            if (bucket.next == null) {
-                buckets[index] = null;
-            } else {
-                var previous = bucket;
-                while (previous.next != null) {
-                    if (previous.next.equals(currentEntry)) {
-                        previous.next = currentEntry.next;
+            removeEntry(lastReturnedBuckets, lastReturned);
+            lastReturned = null;
+        }
+
+        private void iterateToNextBucket() {
+            while (true) {
+                bucketIndex++;
+                if (bucketIndex == currentBuckets.length) {
+                    if (currentBuckets == buckets && newBuckets != null) {
+                        currentBuckets = newBuckets;
+                        bucketIndex = -1;
+                        continue;
                     }
-                    previous = previous.next;
+                    nextEntry = null;
+                    return;
+                }
+                if (currentBuckets[bucketIndex] != null) {
+                    nextEntry = firstEntry(currentBuckets[bucketIndex]);
+                    return;
                 }
             }
-            size--;
+        }
+    }
+
+    // covers the bucket index range [index, fence), during incremental resize indexes past
+    // the old bucket array address the new one, so both arrays are split as one range
+    private class HashMapSpliterator implements Spliterator<Map.Entry<K, V>> {
+        private final Entry<K, V>[] oldBuckets;
+        private final Entry<K, V>[] resizedBuckets;
+        private final int fence;
+        // only an unsplit spliterator knows its count, halves of a split just estimate it
+        private boolean exactSize;
+        private int index;
+        private int estimatedSize;
+        private Entry<K, V> nextEntry;
+
+        private HashMapSpliterator(Entry<K, V>[] oldBuckets, Entry<K, V>[] resizedBuckets, int origin, int fence,
+                                   int estimatedSize, boolean exactSize) {
+            this.oldBuckets = oldBuckets;
+            this.resizedBuckets = resizedBuckets;
+            this.index = origin;
+            this.fence = fence;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
         }
 
-        private Entry<K, V> iterateToNextBucket() {
-            bucketIndex++;
-            if (bucketIndex == buckets.length) {
+        @Override
+        public HashMapSpliterator trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index || nextEntry != null) {
                 return null;
             }
-            while (buckets[bucketIndex] == null) {
-                bucketIndex++;
-                if (bucketIndex == buckets.length) {
-                    return null;
+            estimatedSize >>>= 1;
+            exactSize = false;
+            var prefix = new HashMapSpliterator(oldBuckets, resizedBuckets, index, middle, estimatedSize, false);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            while (nextEntry == null) {
+                if (index >= fence) {
+                    return false;
                 }
+                nextEntry = firstEntry(bucketAt(index++));
             }
-            return buckets[bucketIndex];
+            var entry = nextEntry;
+            nextEntry = entry.next;
+            action.accept(entry);
+            return true;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return exactSize ? Spliterator.SIZED | Spliterator.DISTINCT : Spliterator.DISTINCT;
+        }
+
+        private Entry<K, V> bucketAt(int bucketIndex) {
+            return bucketIndex < oldBuckets.length ? oldBuckets[bucketIndex] : resizedBuckets[bucketIndex - oldBuckets.length];
         }
     }
 
     private static class Entry<K, V> implements Map.Entry<K, V> {
+        private final int hash;
         private final K key;
         private V value;
         private Entry<K, V> next;
 
-        private Entry(K key, V value) {
+        private Entry(int hash, K key, V value) {
+            this.hash = hash;
             this.key = key;
             this.value = value;
         }
@@ -218,4 +524,213 @@ public class HashMap<K, V> implements Map<K, V> {
             return key;
         }
     }
+
+    // bucket of many colliding entries, they are kept in a chain (for iteration and resize) and in an AVL tree
+    // ordered by hash, then by key class name, then by compareTo for Comparable keys, then by insertion order
+    private static class TreeBin<K, V> extends Entry<K, V> {
+        private TreeNode<K, V> root;
+        private TreeNode<K, V> first;
+        private int count;
+        private long nextSequence;
+
+        private TreeBin(Entry<K, V> chain) {
+            super(0, null, null);
+            var entry = chain;
+            while (entry != null) {
+                var next = entry.next;
+                add(entry);
+                entry = next;
+            }
+        }
+
+        private void add(Entry<K, V> entry) {
+            var node = new TreeNode<>(entry, nextSequence++);
+            if (first != null) {
+                first.previous = node;
+                node.next = first;
+                entry.next = first.entry;
+            } else {
+                entry.next = null;
+            }
+            first = node;
+            root = insert(root, node);
+            count++;
+        }
+
+        private void remove(TreeNode<K, V> node) {
+            root = delete(root, node);
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+                node.previous.entry.next = node.entry.next;
+            }
+            if (node.next != null) {
+                node.next.previous = node.previous;
+            }
+            count--;
+        }
+
+        // equal keys may sit on both sides of a node when compareTo can't tell them apart
+        private TreeNode<K, V> find(int hash, K key) {
+            return find(root, hash, key);
+        }
+
+        private TreeNode<K, V> find(TreeNode<K, V> node, int hash, K key) {
+            while (node != null) {
+                var entry = node.entry;
+                if (hash != entry.hash) {
+                    node = hash < entry.hash ? node.left : node.right;
+                } else if (Objects.equals(key, entry.key)) {
+                    return node;
+                } else {
+                    int comparison = compareComparables(key, entry.key);
+                    if (comparison != 0) {
+                        node = comparison < 0 ? node.left : node.right;
+                    } else {
+                        var found = find(node.right, hash, key);
+                        if (found != null) {
+                            return found;
+                        }
+                        node = node.left;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private TreeNode<K, V> insert(TreeNode<K, V> node, TreeNode<K, V> newNode) {
+            if (node == null) {
+                return newNode;
+            }
+            if (compare(newNode, node) < 0) {
+                node.left = insert(node.left, newNode);
+            } else {
+                node.right = insert(node.right, newNode);
+            }
+            return balance(node);
+        }
+
+        private TreeNode<K, V> delete(TreeNode<K, V> node, TreeNode<K, V> nodeToDelete) {
+            int comparison = compare(nodeToDelete, node);
+            if (comparison < 0) {
+                node.left = delete(node.left, nodeToDelete);
+            } else if (comparison > 0) {
+                node.right = delete(node.right, nodeToDelete);
+            } else {
+                if (node.left == null) {
+                    return node.right;
+                }
+                if (node.right == null) {
+                    return node.left;
+                }
+                var successor = node.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                successor.right = deleteMin(node.right);
+                successor.left = node.left;
+                node.left = node.right = null;
+                node = successor;
+            }
+            return balance(node);
+        }
+
+        private TreeNode<K, V> deleteMin(TreeNode<K, V> node) {
+            if (node.left == null) {
+                return node.right;
+            }
+            node.left = deleteMin(node.left);
+            return balance(node);
+        }
+
+        private TreeNode<K, V> balance(TreeNode<K, V> node) {
+            updateHeight(node);
+            int balanceFactor = height(node.left) - height(node.right);
+            if (balanceFactor > 1) {
+                if (height(node.left.left) < height(node.left.right)) {
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            }
+            if (balanceFactor < -1) {
+                if (height(node.right.right) < height(node.right.left)) {
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private TreeNode<K, V> rotateLeft(TreeNode<K, V> node) {
+            var newRoot = node.right;
+            node.right = newRoot.left;
+            newRoot.left = node;
+            updateHeight(node);
+            updateHeight(newRoot);
+            return newRoot;
+        }
+
+        private TreeNode<K, V> rotateRight(TreeNode<K, V> node) {
+            var newRoot = node.left;
+            node.left = newRoot.right;
+            newRoot.right = node;
+            updateHeight(node);
+            updateHeight(newRoot);
+            return newRoot;
+        }
+
+        private void updateHeight(TreeNode<K, V> node) {
+            node.height = Math.max(height(node.left), height(node.right)) + 1;
+        }
+
+        private int height(TreeNode<K, V> node) {
+            return node == null ? 0 : node.height;
+        }
+
+        // total order of the nodes, insertion order breaks the remaining ties
+        private int compare(TreeNode<K, V> node, TreeNode<K, V> other) {
+            int hash = node.entry.hash;
+            int otherHash = other.entry.hash;
+            if (hash != otherHash) {
+                return hash < otherHash ? -1 : 1;
+            }
+            var key = node.entry.key;
+            var otherKey = other.entry.key;
+            int comparison = className(key).compareTo(className(otherKey));
+            if (comparison == 0) {
+                comparison = compareComparables(key, otherKey);
+            }
+            return comparison != 0 ? comparison : Long.compare(node.sequence, other.sequence);
+        }
+
+        private static String className(Object key) {
+            return key == null ? "" : key.getClass().getName();
+        }
+
+        // compareTo result for Comparable keys of the same class, 0 for any other pair
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compareComparables(Object key, Object otherKey) {
+            if (key == null || otherKey == null || key.getClass() != otherKey.getClass() || !(key instanceof Comparable)) {
+                return 0;
+            }
+            return Integer.signum(((Comparable) key).compareTo(otherKey));
+        }
+    }
+
+    private static class TreeNode<K, V> {
+        private final Entry<K, V> entry;
+        private final long sequence;
+        private TreeNode<K, V> left;
+        private TreeNode<K, V> right;
+        private int height = 1;
+        // neighbours in the chain of the bin
+        private TreeNode<K, V> previous;
+        private TreeNode<K, V> next;
+
+        private TreeNode(Entry<K, V> entry, long sequence) {
+            this.entry = entry;
+            this.sequence = sequence;
+        }
+    }
 }
@@ -0,0 +1,6 @@
+package com.sotska.datastructures.map;
+
+@FunctionalInterface
+public interface IntIntConsumer {
+    void accept(int key, int value);
+}
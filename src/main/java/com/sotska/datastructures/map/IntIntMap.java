@@ -0,0 +1,200 @@
+package com.sotska.datastructures.map;
+
+import java.util.Arrays;
+
+// Map of int keys to int values for hot paths where Map<Integer, Integer> would box every key and value.
+// Probing and backward shift removal work as in FlatHashMap, but there is no control byte array:
+// the keys array marks free slots itself with key 0, so a probe reads a single int per slot.
+// A mapping for key 0 is kept aside in its own fields. Missing keys are reported with noEntryValue,
+// 0 unless another value is given to the constructor.
+public class IntIntMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int DEFAULT_NO_ENTRY_VALUE = 0;
+    private static final int FREE_KEY = 0;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private final double loadFactor;
+    private final int noEntryValue;
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroKeyValue;
+
+    public IntIntMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_NO_ENTRY_VALUE);
+    }
+
+    public IntIntMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR, DEFAULT_NO_ENTRY_VALUE);
+    }
+
+    public IntIntMap(int capacity, double loadFactor, int noEntryValue) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should not be negative. Current capacity is " + capacity);
+        }
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor should be between 0 and 1. Current load factor is " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.noEntryValue = noEntryValue;
+        allocate(tableSizeFor((int) Math.ceil(capacity / loadFactor)));
+    }
+
+    // returns previous value or noEntryValue if there was no mapping for the key
+    public int put(int key, int value) {
+        if (key == FREE_KEY) {
+            var previousValue = hasZeroKey ? zeroKeyValue : noEntryValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroKeyValue = value;
+            return previousValue;
+        }
+        int index = hash(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                var previousValue = values[index];
+                values[index] = value;
+                return previousValue;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            resize(keys.length * 2);
+        }
+        return noEntryValue;
+    }
+
+    public int get(int key) {
+        return getOrDefault(key, noEntryValue);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        }
+        int index = findIndex(key);
+        return index == -1 ? defaultValue : values[index];
+    }
+
+    public boolean containsKey(int key) {
+        return key == FREE_KEY ? hasZeroKey : findIndex(key) != -1;
+    }
+
+    // returns removed value or noEntryValue if there was no mapping for the key
+    public int remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return noEntryValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroKeyValue;
+        }
+        int index = findIndex(key);
+        if (index == -1) {
+            return noEntryValue;
+        }
+        var valueToRemove = values[index];
+        removeAt(index);
+        return valueToRemove;
+    }
+
+    public void forEach(IntIntConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(FREE_KEY, zeroKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    private int findIndex(int key) {
+        int index = hash(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeAt(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (keys[index] == FREE_KEY) {
+                break;
+            }
+            int home = hash(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = FREE_KEY;
+        size--;
+    }
+
+    private void resize(int newCapacity) {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int index = hash(oldKeys[i]) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Math.max(Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1, 2);
+    }
+
+    private static int hash(int key) {
+        int hash = key * GOLDEN_RATIO;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,6 @@
+package com.sotska.datastructures.map;
+
+@FunctionalInterface
+public interface LongObjectConsumer<V> {
+    void accept(long key, V value);
+}
@@ -0,0 +1,205 @@
+package com.sotska.datastructures.map;
+
+import java.util.Arrays;
+
+// Map of long keys, such as ids or timestamps, to object values without boxing the keys into Long.
+// Slots work as in IntIntMap: key 0 marks a free slot and its mapping is kept aside. The hash multiplies
+// by the 64 bit golden ratio and folds the high half in, so keys that differ only in their upper bits
+// still spread. Removal clears the freed value slot, so the map does not keep removed values alive.
+// Missing keys are reported with noEntryValue, null unless another value is given to the constructor.
+public class LongObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final long FREE_KEY = 0;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final double loadFactor;
+    private final V noEntryValue;
+    private long[] keys;
+    private V[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean hasZeroKey;
+    private V zeroKeyValue;
+
+    public LongObjectMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, null);
+    }
+
+    public LongObjectMap(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR, null);
+    }
+
+    public LongObjectMap(int capacity, double loadFactor, V noEntryValue) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should not be negative. Current capacity is " + capacity);
+        }
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor should be between 0 and 1. Current load factor is " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.noEntryValue = noEntryValue;
+        allocate(tableSizeFor((int) Math.ceil(capacity / loadFactor)));
+    }
+
+    // returns previous value or noEntryValue if there was no mapping for the key
+    public V put(long key, V value) {
+        if (key == FREE_KEY) {
+            var previousValue = hasZeroKey ? zeroKeyValue : noEntryValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroKeyValue = value;
+            return previousValue;
+        }
+        int index = hash(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                var previousValue = values[index];
+                values[index] = value;
+                return previousValue;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            resize(keys.length * 2);
+        }
+        return noEntryValue;
+    }
+
+    public V get(long key) {
+        return getOrDefault(key, noEntryValue);
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        }
+        int index = findIndex(key);
+        return index == -1 ? defaultValue : values[index];
+    }
+
+    public boolean containsKey(long key) {
+        return key == FREE_KEY ? hasZeroKey : findIndex(key) != -1;
+    }
+
+    // returns removed value or noEntryValue if there was no mapping for the key
+    public V remove(long key) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return noEntryValue;
+            }
+            var valueToRemove = zeroKeyValue;
+            hasZeroKey = false;
+            zeroKeyValue = null;
+            size--;
+            return valueToRemove;
+        }
+        int index = findIndex(key);
+        if (index == -1) {
+            return noEntryValue;
+        }
+        var valueToRemove = values[index];
+        removeAt(index);
+        return valueToRemove;
+    }
+
+    public void forEach(LongObjectConsumer<? super V> consumer) {
+        if (hasZeroKey) {
+            consumer.accept(FREE_KEY, zeroKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroKeyValue = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    private int findIndex(long key) {
+        int index = hash(key) & mask;
+        while (keys[index] != FREE_KEY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeAt(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (keys[index] == FREE_KEY) {
+                break;
+            }
+            int home = hash(keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = FREE_KEY;
+        values[gap] = null;
+        size--;
+    }
+
+    private void resize(int newCapacity) {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int index = hash(oldKeys[i]) & mask;
+                while (keys[index] != FREE_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Math.max(Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1, 2);
+    }
+
+    private static int hash(long key) {
+        long hash = key * GOLDEN_RATIO;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -1,5 +1,10 @@
 package com.sotska.datastructures.map;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface Map<K, V> extends Iterable<Map.Entry<K, V>> {
     V put(K key, V value);
 
@@ -11,6 +16,51 @@ public interface Map<K, V> extends Iterable<Map.Entry<K, V>> {
 
     int size();
 
+    // puts every entry of the other map, values of keys that already exist are replaced
+    default void putAll(Map<? extends K, ? extends V> other) {
+        for (Map.Entry<? extends K, ? extends V> entry : other) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // values[i] = get(keys[i]) for every key
+    // values should be at least as long as keys, otherwise throw new IllegalArgumentException
+    default void getAll(K[] keys, V[] values) {
+        if (values.length < keys.length) {
+            throw new IllegalArgumentException("Values array should not be shorter than keys array. Keys length is "
+                    + keys.length + " values length is " + values.length);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = get(keys[i]);
+        }
+    }
+
+    // removes every key, returns number of keys that were in the map
+    default int removeAll(K[] keys) {
+        int removed = 0;
+        for (K key : keys) {
+            if (containsKey(key)) {
+                remove(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // sized spliterator which splits by copying batches of the iterator into arrays
+    @Override
+    default Spliterator<Entry<K, V>> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT);
+    }
+
+    default Stream<Entry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     interface Entry<K, V> {
         K getKey();
 
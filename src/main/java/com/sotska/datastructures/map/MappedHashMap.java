@@ -0,0 +1,429 @@
+package com.sotska.datastructures.map;
+
+import com.sotska.datastructures.codec.ChannelIO;
+import com.sotska.datastructures.codec.Codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Read only map served straight from a snapshot file mapped into memory.
+// write() stores the entries of any map as a hash table on disk, open() maps the file and answers
+// lookups by probing the mapped slots and comparing key bytes, decoding only the value that is found.
+// Nothing is read up front, the OS pages the file in on access and shares cached pages between
+// processes that open the same snapshot. Lookups keep no mutable state, so threads may share one map.
+// The same snapshot can be streamed through any channel, read() loads it into one buffer and wrap()
+// serves a buffer that already holds it, both decode values only on access like open().
+//
+// File layout (big endian):
+// header   [int magic][int version][int size][int slot count][long null key record + 1][long records offset]
+//          [long file size]
+// slots    slot count x [int key hash][int key length][long record address + 1], 0 address = empty slot
+// records  [int key length][int value length][key bytes][value bytes], -1 length = null
+// The file is mapped in chunks of 1 GB, slots and records never cross a chunk border.
+public class MappedHashMap<K, V> implements Map<K, V>, AutoCloseable {
+
+    private static final int MAGIC = 0x5344484D;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SIZE_OFFSET = 8;
+    private static final int SLOT_COUNT_OFFSET = 12;
+    private static final int NULL_KEY_OFFSET = 16;
+    private static final int FILE_SIZE_OFFSET = 32;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final int SLOT_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final int NULL_LENGTH = -1;
+    private static final long EMPTY = 0;
+    // snapshot slots are filled at most by half, so lookups of absent keys end quickly
+    private static final double LOAD_FACTOR = 0.5;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final FileChannel channel;
+    private final ByteBuffer[] chunks;
+    private final int size;
+    private final int mask;
+    private final long nullKeyAddress;
+    private volatile boolean closed;
+
+    private MappedHashMap(Codec<K> keyCodec, Codec<V> valueCodec, FileChannel channel, ByteBuffer[] chunks) {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.channel = channel;
+        this.chunks = chunks;
+        this.size = chunks[0].getInt(SIZE_OFFSET);
+        this.mask = chunks[0].getInt(SLOT_COUNT_OFFSET) - 1;
+        this.nullKeyAddress = chunks[0].getLong(NULL_KEY_OFFSET);
+    }
+
+    public static <K, V> void write(Map<K, V> map, Path file, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            write(map, channel, keyCodec, valueCodec);
+            channel.force(true);
+        }
+    }
+
+    // Streams the snapshot to the channel: the slot table is built in memory first, then header, slots
+    // and records are written in file order, so the channel does not have to support positioning.
+    public static <K, V> void write(Map<K, V> map, WritableByteChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        int slotCount = Math.max(Integer.highestOneBit(Math.max((int) Math.ceil(map.size() / LOAD_FACTOR), 2) - 1) << 1, 2);
+        long slotsSize = (long) slotCount * SLOT_SIZE;
+        long recordsOffset = HEADER_SIZE + slotsSize;
+        // slot positions are counted from the start of the slot table here, not from the start of the file
+        var slots = new ByteBuffer[(int) ((slotsSize + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, slotsSize - ((long) i << CHUNK_SHIFT)));
+        }
+        int mask = slotCount - 1;
+        long nullKeyAddress = EMPTY;
+        long position = recordsOffset;
+        var keyBuffer = ByteBuffer.allocate(64);
+        for (Map.Entry<K, V> entry : map) {
+            int recordSize = recordSize(entry, keyCodec, valueCodec);
+            long address = recordAddress(position, recordSize);
+            position = address + recordSize;
+            var key = entry.getKey();
+            if (key == null) {
+                nullKeyAddress = address + 1;
+                continue;
+            }
+            int keyLength = keyCodec.sizeOf(key);
+            if (keyBuffer.capacity() < keyLength) {
+                keyBuffer = ByteBuffer.allocate(Math.max(keyLength, keyBuffer.capacity() * 2));
+            }
+            keyBuffer.clear();
+            keyCodec.write(key, keyBuffer);
+            int hash = Bytes.hash(keyBuffer, 0, keyLength);
+            int slot = hash & mask;
+            while (slots[slotChunk(slot)].getLong(slotOffset(slot) + Integer.BYTES * 2) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            var slotChunk = slots[slotChunk(slot)];
+            int slotOffset = slotOffset(slot);
+            slotChunk.putInt(slotOffset, hash);
+            slotChunk.putInt(slotOffset + Integer.BYTES, keyLength);
+            slotChunk.putLong(slotOffset + Integer.BYTES * 2, address + 1);
+        }
+        long fileSize = position;
+
+        var header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(SIZE_OFFSET, map.size());
+        header.putInt(SLOT_COUNT_OFFSET, slotCount);
+        header.putLong(NULL_KEY_OFFSET, nullKeyAddress);
+        header.putLong(24, recordsOffset);
+        header.putLong(FILE_SIZE_OFFSET, fileSize);
+        ChannelIO.writeFully(channel, header);
+        for (var slotChunk : slots) {
+            ChannelIO.writeFully(channel, slotChunk);
+        }
+
+        var buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        position = recordsOffset;
+        for (Map.Entry<K, V> entry : map) {
+            int recordSize = recordSize(entry, keyCodec, valueCodec);
+            long address = recordAddress(position, recordSize);
+            // the gap left at the end of a chunk is filled with zeros
+            for (; position < address; position++) {
+                if (!buffer.hasRemaining()) {
+                    ChannelIO.flush(channel, buffer);
+                }
+                buffer.put((byte) 0);
+            }
+            if (buffer.remaining() < recordSize) {
+                ChannelIO.flush(channel, buffer);
+            }
+            var recordBuffer = recordSize > buffer.capacity() ? ByteBuffer.allocate(recordSize) : buffer;
+            var key = entry.getKey();
+            var value = entry.getValue();
+            recordBuffer.putInt(key == null ? NULL_LENGTH : keyCodec.sizeOf(key));
+            recordBuffer.putInt(value == null ? NULL_LENGTH : valueCodec.sizeOf(value));
+            if (key != null) {
+                keyCodec.write(key, recordBuffer);
+            }
+            if (value != null) {
+                valueCodec.write(value, recordBuffer);
+            }
+            if (recordBuffer != buffer) {
+                ChannelIO.flush(channel, recordBuffer);
+            }
+            position = address + recordSize;
+        }
+        ChannelIO.flush(channel, buffer);
+    }
+
+    public static <K, V> MappedHashMap<K, V> open(Path file, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        var channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("File " + file + " is not a map snapshot.");
+            }
+            var chunks = map(channel, FileChannel.MapMode.READ_ONLY, fileSize);
+            if (chunks[0].getInt(0) != MAGIC) {
+                throw new IOException("File " + file + " is not a map snapshot.");
+            }
+            if (chunks[0].getInt(4) != VERSION) {
+                throw new IOException("Unsupported snapshot version " + chunks[0].getInt(4) + " of file " + file);
+            }
+            return new MappedHashMap<>(keyCodec, valueCodec, channel, chunks);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // reads a snapshot written by write(map, channel) into one heap buffer, values are decoded on access
+    public static <K, V> MappedHashMap<K, V> read(ReadableByteChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE);
+        ChannelIO.readFully(channel, header);
+        checkHeader(header);
+        long fileSize = header.getLong(FILE_SIZE_OFFSET);
+        if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + fileSize + " bytes does not fit into a buffer, write it to a file and open it.");
+        }
+        var buffer = ByteBuffer.allocate((int) fileSize);
+        buffer.put(header.flip());
+        ChannelIO.readFully(channel, buffer);
+        return new MappedHashMap<>(keyCodec, valueCodec, null, chunks(buffer.flip()));
+    }
+
+    // map over a snapshot held in the buffer between its position and limit, nothing is copied or decoded up front
+    public static <K, V> MappedHashMap<K, V> wrap(ByteBuffer buffer, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        var snapshot = buffer.slice();
+        if (snapshot.remaining() < HEADER_SIZE) {
+            throw new IOException("Buffer does not hold a map snapshot.");
+        }
+        checkHeader(snapshot);
+        long fileSize = snapshot.getLong(FILE_SIZE_OFFSET);
+        if (fileSize < HEADER_SIZE || fileSize > snapshot.remaining()) {
+            throw new IOException("Snapshot of " + fileSize + " bytes does not fit into the " + snapshot.remaining() + " bytes of the buffer.");
+        }
+        return new MappedHashMap<>(keyCodec, valueCodec, null, chunks(snapshot.slice(0, (int) fileSize)));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("Snapshot is read only.");
+    }
+
+    @Override
+    public V get(K key) {
+        long address = getAddress(key);
+        return address == EMPTY ? null : readValue(address);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return getAddress(key) != EMPTY;
+    }
+
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("Snapshot is read only.");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        checkOpen();
+        return new MappedHashMapIterator();
+    }
+
+    // the mapping itself is released once the buffers become unreachable
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Map is closed.");
+        }
+    }
+
+    private long getAddress(K key) {
+        checkOpen();
+        if (key == null) {
+            return nullKeyAddress;
+        }
+        int keyLength = keyCodec.sizeOf(key);
+        var keyBuffer = ByteBuffer.allocate(keyLength);
+        keyCodec.write(key, keyBuffer);
+        int hash = Bytes.hash(keyBuffer, 0, keyLength);
+        int slot = hash & mask;
+        long address;
+        while ((address = slotAddress(chunks, slot)) != EMPTY) {
+            long slotPosition = HEADER_SIZE + (long) slot * SLOT_SIZE;
+            var slotChunk = chunks[(int) (slotPosition >>> CHUNK_SHIFT)];
+            int slotOffset = (int) (slotPosition & (CHUNK_SIZE - 1));
+            if (slotChunk.getInt(slotOffset) == hash && slotChunk.getInt(slotOffset + Integer.BYTES) == keyLength) {
+                long recordPosition = address - 1;
+                var chunk = chunks[(int) (recordPosition >>> CHUNK_SHIFT)];
+                int offset = (int) (recordPosition & (CHUNK_SIZE - 1));
+                if (Bytes.equals(keyBuffer, 0, chunk, offset + RECORD_HEADER_SIZE, keyLength)) {
+                    return address;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    private K readKey(long address) {
+        long recordPosition = address - 1;
+        var chunk = chunks[(int) (recordPosition >>> CHUNK_SHIFT)];
+        int offset = (int) (recordPosition & (CHUNK_SIZE - 1));
+        int keyLength = chunk.getInt(offset);
+        if (keyLength == NULL_LENGTH) {
+            return null;
+        }
+        return keyCodec.read(chunk.slice(offset + RECORD_HEADER_SIZE, keyLength), keyLength);
+    }
+
+    private V readValue(long address) {
+        long recordPosition = address - 1;
+        var chunk = chunks[(int) (recordPosition >>> CHUNK_SHIFT)];
+        int offset = (int) (recordPosition & (CHUNK_SIZE - 1));
+        int valueLength = chunk.getInt(offset + Integer.BYTES);
+        if (valueLength == NULL_LENGTH) {
+            return null;
+        }
+        int valueOffset = offset + RECORD_HEADER_SIZE + Math.max(chunk.getInt(offset), 0);
+        return valueCodec.read(chunk.slice(valueOffset, valueLength), valueLength);
+    }
+
+    private static long slotAddress(ByteBuffer[] chunks, int slot) {
+        long slotPosition = HEADER_SIZE + (long) slot * SLOT_SIZE;
+        return chunks[(int) (slotPosition >>> CHUNK_SHIFT)].getLong((int) (slotPosition & (CHUNK_SIZE - 1)) + Integer.BYTES * 2);
+    }
+
+    private static <K, V> int recordSize(Map.Entry<K, V> entry, Codec<K> keyCodec, Codec<V> valueCodec) {
+        long recordSize = RECORD_HEADER_SIZE
+                + (entry.getKey() == null ? 0L : keyCodec.sizeOf(entry.getKey()))
+                + (entry.getValue() == null ? 0L : valueCodec.sizeOf(entry.getValue()));
+        if (recordSize > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Entry should not take more than " + CHUNK_SIZE + " bytes. Current entry takes " + recordSize);
+        }
+        return (int) recordSize;
+    }
+
+    // moves the record to the next chunk if it does not fit into the rest of the current one
+    private static long recordAddress(long position, int recordSize) {
+        if ((position & (CHUNK_SIZE - 1)) + recordSize > CHUNK_SIZE) {
+            return (position + CHUNK_SIZE - 1) & -CHUNK_SIZE;
+        }
+        return position;
+    }
+
+    private static int slotChunk(int slot) {
+        return (int) (((long) slot * SLOT_SIZE) >>> CHUNK_SHIFT);
+    }
+
+    private static int slotOffset(int slot) {
+        return (int) (((long) slot * SLOT_SIZE) & (CHUNK_SIZE - 1));
+    }
+
+    private static void checkHeader(ByteBuffer header) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Data is not a map snapshot.");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version " + header.getInt(4));
+        }
+    }
+
+    // splits the snapshot into chunks the same way open() maps a file
+    private static ByteBuffer[] chunks(ByteBuffer snapshot) {
+        var chunks = new ByteBuffer[(int) ((snapshot.remaining() + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            long chunkStart = (long) i << CHUNK_SHIFT;
+            chunks[i] = snapshot.slice((int) chunkStart, (int) Math.min(CHUNK_SIZE, snapshot.remaining() - chunkStart));
+        }
+        return chunks;
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long fileSize) throws IOException {
+        var chunks = new ByteBuffer[(int) ((fileSize + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            long chunkStart = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(mode, chunkStart, Math.min(CHUNK_SIZE, fileSize - chunkStart));
+        }
+        return chunks;
+    }
+
+    private class MappedHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private boolean nullKeyVisited = nullKeyAddress == EMPTY;
+        private int slot;
+
+        @Override
+        public boolean hasNext() {
+            checkOpen();
+            if (!nullKeyVisited) {
+                return true;
+            }
+            while (slot <= mask && slotAddress(chunks, slot) == EMPTY) {
+                slot++;
+            }
+            return slot <= mask;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No such element at map.");
+            }
+            long address;
+            if (!nullKeyVisited) {
+                nullKeyVisited = true;
+                address = nullKeyAddress;
+            } else {
+                address = slotAddress(chunks, slot++);
+            }
+            return new Entry<>(readKey(address), readValue(address));
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Snapshot is read only.");
+        }
+    }
+
+    private static class Entry<K, V> implements Map.Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package com.sotska.datastructures.map;
+
+import com.sotska.datastructures.codec.Codec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Map that keeps keys and values serialized in direct (off-heap) memory, so the Java heap only
+// holds a few page references no matter how many entries the map has.
+// Records are appended to pages of pageSize bytes: [key length][value length][key bytes][value bytes].
+// The slot table is off-heap too: every slot holds the hash of the key bytes and the record address.
+// Lookups encode the key once and then hash, probe and compare raw bytes, only the value is decoded.
+// Slots use linear probing with backward shift removal. Records of replaced and removed entries are
+// reclaimed by copying live records into new pages once they take more space than the live ones.
+// close() drops the slot and record pages, the map can not be used after that.
+public class OffHeapHashMap<K, V> implements Map<K, V>, AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int DEFAULT_PAGE_SIZE = 1 << 24;
+    // slot: [int hash][long record address + 1], 0 address marks an empty slot
+    private static final int SLOT_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int SLOTS_PER_PAGE_SHIFT = 16;
+    private static final int SLOTS_PER_PAGE = 1 << SLOTS_PER_PAGE_SHIFT;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int NULL_LENGTH = -1;
+    private static final long EMPTY = 0;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final double loadFactor;
+    private final int pageSize;
+    private ByteBuffer[] slotPages;
+    private int capacity;
+    private int mask;
+    private int threshold;
+    private int size;
+    private ByteBuffer[] recordPages = new ByteBuffer[4];
+    private int recordPageCount;
+    private int writeOffset;
+    private long liveBytes;
+    private long garbageBytes;
+    private long nullKeyAddress = EMPTY;
+    private ByteBuffer keyBuffer = ByteBuffer.allocate(64);
+    private boolean closed;
+
+    public OffHeapHashMap(Codec<K> keyCodec, Codec<V> valueCodec) {
+        this(keyCodec, valueCodec, DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_PAGE_SIZE);
+    }
+
+    public OffHeapHashMap(Codec<K> keyCodec, Codec<V> valueCodec, int capacity, double loadFactor, int pageSize) {
+        if (capacity < 0 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("Capacity should be between 0 and " + (1 << 29) + ". Current capacity is " + capacity);
+        }
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("Load factor should be between 0 and 1. Current load factor is " + loadFactor);
+        }
+        if (pageSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Page size should be greater than " + RECORD_HEADER_SIZE + ". Current page size is " + pageSize);
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.loadFactor = loadFactor;
+        this.pageSize = pageSize;
+        allocateSlots(Math.max(Integer.highestOneBit(Math.max((int) Math.ceil(capacity / loadFactor), 2) - 1) << 1, 2));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        checkOpen();
+        int valueLength = value == null ? NULL_LENGTH : valueCodec.sizeOf(value);
+        if (key == null) {
+            V previousValue = null;
+            if (nullKeyAddress == EMPTY) {
+                size++;
+            } else {
+                previousValue = readValue(nullKeyAddress);
+                release(nullKeyAddress);
+            }
+            nullKeyAddress = appendRecord(NULL_LENGTH, value, valueLength);
+            return previousValue;
+        }
+        int keyLength = encodeKey(key);
+        int hash = Bytes.hash(keyBuffer, 0, keyLength);
+        int slot = findSlot(hash, keyLength);
+        if (slot >= 0) {
+            long oldAddress = slotAddress(slot);
+            var previousValue = readValue(oldAddress);
+            release(oldAddress);
+            setSlot(slot, hash, appendRecord(keyLength, value, valueLength));
+            compactIfNeeded();
+            return previousValue;
+        }
+        setSlot(~slot, hash, appendRecord(keyLength, value, valueLength));
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    @Override
+    public V get(K key) {
+        checkOpen();
+        long address = getAddress(key);
+        return address == EMPTY ? null : readValue(address);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        checkOpen();
+        return getAddress(key) != EMPTY;
+    }
+
+    @Override
+    public V remove(K key) {
+        checkOpen();
+        V valueToRemove;
+        if (key == null) {
+            if (nullKeyAddress == EMPTY) {
+                return null;
+            }
+            valueToRemove = readValue(nullKeyAddress);
+            release(nullKeyAddress);
+            nullKeyAddress = EMPTY;
+            size--;
+        } else {
+            int keyLength = encodeKey(key);
+            int slot = findSlot(Bytes.hash(keyBuffer, 0, keyLength), keyLength);
+            if (slot < 0) {
+                return null;
+            }
+            valueToRemove = readValue(slotAddress(slot));
+            removeAt(slot);
+        }
+        compactIfNeeded();
+        return valueToRemove;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // bytes of native memory taken by slots and record pages
+    public long getOffHeapBytes() {
+        checkOpen();
+        long bytes = (long) capacity * SLOT_SIZE;
+        for (int i = 0; i < recordPageCount; i++) {
+            bytes += recordPages[i].capacity();
+        }
+        return bytes;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        checkOpen();
+        return new OffHeapHashMapIterator();
+    }
+
+    // Direct buffers can not be freed on demand: dropping the references here only makes the pages
+    // unreachable, their memory is released when the garbage collector later runs the buffers' cleaners.
+    @Override
+    public void close() {
+        closed = true;
+        slotPages = null;
+        recordPages = null;
+        keyBuffer = null;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Map is closed.");
+        }
+    }
+
+    private int encodeKey(K key) {
+        int keyLength = keyCodec.sizeOf(key);
+        if (keyBuffer.capacity() < keyLength) {
+            keyBuffer = ByteBuffer.allocate(Math.max(keyLength, keyBuffer.capacity() * 2));
+        }
+        keyBuffer.clear();
+        keyCodec.write(key, keyBuffer);
+        return keyLength;
+    }
+
+    private long getAddress(K key) {
+        if (key == null) {
+            return nullKeyAddress;
+        }
+        int keyLength = encodeKey(key);
+        int slot = findSlot(Bytes.hash(keyBuffer, 0, keyLength), keyLength);
+        return slot < 0 ? EMPTY : slotAddress(slot);
+    }
+
+    // index of the slot holding the encoded key, or ~index of the empty slot that ends the probe
+    private int findSlot(int hash, int keyLength) {
+        int slot = hash & mask;
+        long address;
+        while ((address = slotAddress(slot)) != EMPTY) {
+            if (slotHash(slot) == hash) {
+                var page = recordPage(address);
+                int offset = recordOffset(address);
+                if (page.getInt(offset) == keyLength
+                        && Bytes.equals(keyBuffer, 0, page, offset + RECORD_HEADER_SIZE, keyLength)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ~slot;
+    }
+
+    private void removeAt(int gap) {
+        release(slotAddress(gap));
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long address = slotAddress(slot);
+            if (address == EMPTY) {
+                break;
+            }
+            int hash = slotHash(slot);
+            int home = hash & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                setSlot(gap, hash, address);
+                gap = slot;
+            }
+        }
+        setSlot(gap, 0, EMPTY);
+        size--;
+    }
+
+    private void resize() {
+        var oldSlotPages = slotPages;
+        int oldCapacity = capacity;
+        allocateSlots(capacity * 2);
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            var page = oldSlotPages[oldSlot >>> SLOTS_PER_PAGE_SHIFT];
+            int offset = (oldSlot & (SLOTS_PER_PAGE - 1)) * SLOT_SIZE;
+            long address = page.getLong(offset + Integer.BYTES);
+            if (address != EMPTY) {
+                int hash = page.getInt(offset);
+                int slot = hash & mask;
+                while (slotAddress(slot) != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                setSlot(slot, hash, address);
+            }
+        }
+    }
+
+    private void allocateSlots(int newCapacity) {
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        threshold = Math.min((int) (newCapacity * loadFactor), newCapacity - 1);
+        slotPages = new ByteBuffer[(newCapacity + SLOTS_PER_PAGE - 1) >>> SLOTS_PER_PAGE_SHIFT];
+        for (int i = 0; i < slotPages.length; i++) {
+            slotPages[i] = ByteBuffer.allocateDirect(Math.min(newCapacity, SLOTS_PER_PAGE) * SLOT_SIZE);
+        }
+    }
+
+    private int slotHash(int slot) {
+        return slotPages[slot >>> SLOTS_PER_PAGE_SHIFT].getInt((slot & (SLOTS_PER_PAGE - 1)) * SLOT_SIZE);
+    }
+
+    private long slotAddress(int slot) {
+        return slotPages[slot >>> SLOTS_PER_PAGE_SHIFT].getLong((slot & (SLOTS_PER_PAGE - 1)) * SLOT_SIZE + Integer.BYTES);
+    }
+
+    private void setSlot(int slot, int hash, long address) {
+        var page = slotPages[slot >>> SLOTS_PER_PAGE_SHIFT];
+        int offset = (slot & (SLOTS_PER_PAGE - 1)) * SLOT_SIZE;
+        page.putInt(offset, hash);
+        page.putLong(offset + Integer.BYTES, address);
+    }
+
+    // key bytes are taken from keyBuffer, NULL_LENGTH key length stands for the null key
+    private long appendRecord(int keyLength, V value, int valueLength) {
+        int recordSize = RECORD_HEADER_SIZE + Math.max(keyLength, 0) + Math.max(valueLength, 0);
+        var page = recordPageCount == 0 ? null : recordPages[recordPageCount - 1];
+        if (page == null || writeOffset + recordSize > page.capacity()) {
+            page = addRecordPage(Math.max(pageSize, recordSize));
+        }
+        int offset = writeOffset;
+        page.putInt(offset, keyLength);
+        page.putInt(offset + Integer.BYTES, valueLength);
+        if (keyLength > 0) {
+            page.put(offset + RECORD_HEADER_SIZE, keyBuffer, 0, keyLength);
+        }
+        if (valueLength > 0) {
+            page.position(offset + RECORD_HEADER_SIZE + Math.max(keyLength, 0));
+            valueCodec.write(value, page);
+        }
+        writeOffset += recordSize;
+        liveBytes += recordSize;
+        return ((long) (recordPageCount - 1) << 32 | offset) + 1;
+    }
+
+    private ByteBuffer addRecordPage(int size) {
+        if (recordPageCount == recordPages.length) {
+            recordPages = Arrays.copyOf(recordPages, recordPageCount * 2);
+        }
+        var page = ByteBuffer.allocateDirect(size);
+        recordPages[recordPageCount++] = page;
+        writeOffset = 0;
+        return page;
+    }
+
+    private ByteBuffer recordPage(long address) {
+        return recordPages[(int) ((address - 1) >>> 32)];
+    }
+
+    private int recordOffset(long address) {
+        return (int) (address - 1);
+    }
+
+    private int recordSize(long address) {
+        var page = recordPage(address);
+        int offset = recordOffset(address);
+        return RECORD_HEADER_SIZE + Math.max(page.getInt(offset), 0) + Math.max(page.getInt(offset + Integer.BYTES), 0);
+    }
+
+    private void release(long address) {
+        int recordSize = recordSize(address);
+        liveBytes -= recordSize;
+        garbageBytes += recordSize;
+    }
+
+    private K readKey(long address) {
+        var page = recordPage(address);
+        int offset = recordOffset(address);
+        int keyLength = page.getInt(offset);
+        if (keyLength == NULL_LENGTH) {
+            return null;
+        }
+        page.position(offset + RECORD_HEADER_SIZE);
+        return keyCodec.read(page, keyLength);
+    }
+
+    private V readValue(long address) {
+        var page = recordPage(address);
+        int offset = recordOffset(address);
+        int valueLength = page.getInt(offset + Integer.BYTES);
+        if (valueLength == NULL_LENGTH) {
+            return null;
+        }
+        page.position(offset + RECORD_HEADER_SIZE + Math.max(page.getInt(offset), 0));
+        return valueCodec.read(page, valueLength);
+    }
+
+    private void compactIfNeeded() {
+        if (garbageBytes > liveBytes && garbageBytes > pageSize) {
+            compact();
+        }
+    }
+
+    // copies live records into fresh pages, slot indexes stay the same so no probing is needed
+    private void compact() {
+        var oldPages = recordPages;
+        recordPages = new ByteBuffer[4];
+        recordPageCount = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+        if (nullKeyAddress != EMPTY) {
+            nullKeyAddress = copyRecord(oldPages, nullKeyAddress);
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            long address = slotAddress(slot);
+            if (address != EMPTY) {
+                setSlot(slot, slotHash(slot), copyRecord(oldPages, address));
+            }
+        }
+    }
+
+    private long copyRecord(ByteBuffer[] oldPages, long address) {
+        var oldPage = oldPages[(int) ((address - 1) >>> 32)];
+        int oldOffset = recordOffset(address);
+        int recordSize = RECORD_HEADER_SIZE + Math.max(oldPage.getInt(oldOffset), 0)
+                + Math.max(oldPage.getInt(oldOffset + Integer.BYTES), 0);
+        var page = recordPageCount == 0 ? null : recordPages[recordPageCount - 1];
+        if (page == null || writeOffset + recordSize > page.capacity()) {
+            page = addRecordPage(Math.max(pageSize, recordSize));
+        }
+        int offset = writeOffset;
+        page.put(offset, oldPage, oldOffset, recordSize);
+        writeOffset += recordSize;
+        liveBytes += recordSize;
+        return ((long) (recordPageCount - 1) << 32 | offset) + 1;
+    }
+
+    // Walks the slot pages from an empty slot like FlatHashMap's iterator, so remove() is safe during the walk.
+    // The null key has no slot and is returned first. Entries are decoded from their records only in next(),
+    // hasNext() reads nothing but slot addresses.
+    private class OffHeapHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private final int start = findEmptySlot();
+        private boolean nullKeyVisited = nullKeyAddress == EMPTY;
+        private int offset;
+        private int lastReturnedSlot = -1;
+        private boolean canRemoveNullKey;
+
+        @Override
+        public boolean hasNext() {
+            checkOpen();
+            if (!nullKeyVisited) {
+                return true;
+            }
+            while (offset < capacity && slotAddress((start + offset) & mask) == EMPTY) {
+                offset++;
+            }
+            return offset < capacity;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No such element at map.");
+            }
+            if (!nullKeyVisited) {
+                nullKeyVisited = true;
+                canRemoveNullKey = true;
+                return new Entry<>(null, readValue(nullKeyAddress));
+            }
+            canRemoveNullKey = false;
+            lastReturnedSlot = (start + offset) & mask;
+            offset++;
+            long address = slotAddress(lastReturnedSlot);
+            return new Entry<>(readKey(address), readValue(address));
+        }
+
+        @Override
+        public void remove() {
+            checkOpen();
+            if (canRemoveNullKey) {
+                OffHeapHashMap.this.remove(null);
+                canRemoveNullKey = false;
+                return;
+            }
+            if (lastReturnedSlot == -1) {
+                throw new IllegalStateException("Have no element to remove.");
+            }
+            removeAt(lastReturnedSlot);
+            if (slotAddress(lastReturnedSlot) != EMPTY) {
+                offset--;
+            }
+            lastReturnedSlot = -1;
+        }
+
+        private int findEmptySlot() {
+            int slot = 0;
+            while (slotAddress(slot) != EMPTY) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    private static class Entry<K, V> implements Map.Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
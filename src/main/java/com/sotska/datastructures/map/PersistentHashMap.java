@@ -0,0 +1,529 @@
+package com.sotska.datastructures.map;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// Immutable map: with and without return a new map and leave this one unchanged.
+// Entries are kept in a hash array mapped trie: every level takes 5 bits of the hash, a node stores
+// a 32 bit bitmap of used children and a compact array with only the used ones, so lookups are
+// O(log32 n). A new version copies the nodes on the path to the changed entry and shares the rest.
+// Nodes are never changed once a map holds them, but their fields are not final (the Builder fills them),
+// so other threads must get a map through a happens-before edge, for example a volatile field or an
+// AtomicReference. Then readers never block and never see a half update.
+// Builder changes nodes it created itself in place, so a bulk build does not copy a path per entry.
+// Mutators of Map throw UnsupportedOperationException.
+public class PersistentHashMap<K, V> implements Map<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0, false, null);
+
+    private final Node root;
+    private final int size;
+    // null key has no hash bits to follow, so it is kept next to the trie
+    private final boolean hasNullKey;
+    private final V nullKeyValue;
+
+    private PersistentHashMap(Node root, int size, boolean hasNullKey, V nullKeyValue) {
+        this.root = root;
+        this.size = size;
+        this.hasNullKey = hasNullKey;
+        this.nullKeyValue = nullKeyValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>(empty());
+    }
+
+    // builder which starts with the entries of this map
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    // returns map with the value put for the key
+    public PersistentHashMap<K, V> with(K key, V value) {
+        if (key == null) {
+            if (hasNullKey && nullKeyValue == value) {
+                return this;
+            }
+            return new PersistentHashMap<>(root, hasNullKey ? size : size + 1, true, value);
+        }
+        var change = new Change();
+        var newRoot = (root == null ? BitmapNode.EMPTY : root).put(null, 0, hash(key), key, value, change);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, change.added ? size + 1 : size, hasNullKey, nullKeyValue);
+    }
+
+    // returns map without the key
+    public PersistentHashMap<K, V> without(K key) {
+        if (key == null) {
+            return hasNullKey ? new PersistentHashMap<>(root, size - 1, false, null) : this;
+        }
+        if (root == null) {
+            return this;
+        }
+        var change = new Change();
+        var newRoot = root.remove(null, 0, hash(key), key, change);
+        if (!change.removed) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, size - 1, hasNullKey, nullKeyValue);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        throw immutable();
+    }
+
+    @Override
+    public V remove(K key) {
+        throw immutable();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        var value = find(key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new PersistentHashMapIterator<>(root, hasNullKey, nullKeyValue);
+    }
+
+    private Object find(K key) {
+        if (key == null) {
+            return hasNullKey ? nullKeyValue : NOT_FOUND;
+        }
+        return root == null ? NOT_FOUND : root.find(0, hash(key), key);
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("Persistent map is immutable. Use with or without.");
+    }
+
+    // Collects entries into a new map. Nodes created by this builder carry its edit token and are changed
+    // in place, build() takes a new token so maps returned earlier are never changed afterwards.
+    public static class Builder<K, V> {
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+        private boolean hasNullKey;
+        private V nullKeyValue;
+
+        private Builder(PersistentHashMap<K, V> map) {
+            root = map.root;
+            size = map.size;
+            hasNullKey = map.hasNullKey;
+            nullKeyValue = map.nullKeyValue;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            if (key == null) {
+                if (!hasNullKey) {
+                    size++;
+                }
+                hasNullKey = true;
+                nullKeyValue = value;
+                return this;
+            }
+            var change = new Change();
+            root = (root == null ? BitmapNode.EMPTY : root).put(edit, 0, hash(key), key, value, change);
+            if (change.added) {
+                size++;
+            }
+            return this;
+        }
+
+        public Builder<K, V> putAll(Map<? extends K, ? extends V> other) {
+            for (Map.Entry<? extends K, ? extends V> entry : other) {
+                put(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+
+        public Builder<K, V> remove(K key) {
+            if (key == null) {
+                if (hasNullKey) {
+                    size--;
+                }
+                hasNullKey = false;
+                nullKeyValue = null;
+                return this;
+            }
+            if (root != null) {
+                var change = new Change();
+                root = root.remove(edit, 0, hash(key), key, change);
+                if (change.removed) {
+                    size--;
+                }
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PersistentHashMap<K, V> build() {
+            edit = new Object();
+            return new PersistentHashMap<>(root, size, hasNullKey, nullKeyValue);
+        }
+    }
+
+    // result of put or remove besides the new node
+    private static class Change {
+        private boolean added;
+        private boolean removed;
+    }
+
+    private abstract static class Node {
+        // token of the builder that created the node, null for nodes of persistent maps
+        final Object edit;
+
+        Node(Object edit) {
+            this.edit = edit;
+        }
+
+        boolean isEditable(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        abstract Node put(Object edit, int shift, int hash, Object key, Object value, Change change);
+
+        // returns null when the last entry of the node is removed
+        abstract Node remove(Object edit, int shift, int hash, Object key, Change change);
+
+        abstract Object find(int shift, int hash, Object key);
+
+        // number of key/value pairs and child nodes in array
+        abstract int slotCount();
+
+        abstract Object[] array();
+    }
+
+    // array holds a key and a value for every set bit of bitmap, a null key means the value is a child node
+    private static class BitmapNode extends Node {
+        private static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        private int bitmap;
+        private Object[] array;
+
+        private BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit);
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            int bit = bit(hash, shift);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                change.added = true;
+                return insertPair(edit, bit, index, key, value);
+            }
+            var keyOrNull = array[index];
+            var valueOrNode = array[index + 1];
+            if (keyOrNull == null) {
+                var newChild = ((Node) valueOrNode).put(edit, shift + BITS, hash, key, value, change);
+                return newChild == valueOrNode ? this : set(edit, index + 1, newChild);
+            }
+            if (Objects.equals(key, keyOrNull)) {
+                return valueOrNode == value ? this : set(edit, index + 1, value);
+            }
+            change.added = true;
+            var child = createNode(edit, shift + BITS, keyOrNull, valueOrNode, hash, key, value);
+            var node = set(edit, index, null);
+            node.array[index + 1] = child;
+            return node;
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Change change) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            var keyOrNull = array[index];
+            var valueOrNode = array[index + 1];
+            if (keyOrNull == null) {
+                var newChild = ((Node) valueOrNode).remove(edit, shift + BITS, hash, key, change);
+                if (newChild == valueOrNode) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return set(edit, index + 1, newChild);
+                }
+            } else if (Objects.equals(key, keyOrNull)) {
+                change.removed = true;
+            } else {
+                return this;
+            }
+            return bitmap == bit ? null : removePair(edit, bit, index);
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            var keyOrNull = array[index];
+            if (keyOrNull == null) {
+                return ((Node) array[index + 1]).find(shift + BITS, hash, key);
+            }
+            return Objects.equals(key, keyOrNull) ? array[index + 1] : NOT_FOUND;
+        }
+
+        @Override
+        int slotCount() {
+            return Integer.bitCount(bitmap);
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private BitmapNode set(Object edit, int index, Object value) {
+            var node = isEditable(edit) ? this : new BitmapNode(edit, bitmap, array.clone());
+            node.array[index] = value;
+            return node;
+        }
+
+        // an editable node keeps a few spare pairs at the end of array for the next inserts
+        private BitmapNode insertPair(Object edit, int bit, int index, Object key, Object value) {
+            int usedLength = 2 * Integer.bitCount(bitmap);
+            if (isEditable(edit) && usedLength + 2 <= array.length) {
+                System.arraycopy(array, index, array, index + 2, usedLength - index);
+                array[index] = key;
+                array[index + 1] = value;
+                bitmap |= bit;
+                return this;
+            }
+            var newArray = new Object[usedLength + (edit == null ? 2 : 8)];
+            System.arraycopy(array, 0, newArray, 0, index);
+            newArray[index] = key;
+            newArray[index + 1] = value;
+            System.arraycopy(array, index, newArray, index + 2, usedLength - index);
+            if (isEditable(edit)) {
+                array = newArray;
+                bitmap |= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, newArray);
+        }
+
+        private BitmapNode removePair(Object edit, int bit, int index) {
+            int usedLength = 2 * Integer.bitCount(bitmap);
+            if (isEditable(edit)) {
+                System.arraycopy(array, index + 2, array, index, usedLength - index - 2);
+                array[usedLength - 2] = array[usedLength - 1] = null;
+                bitmap ^= bit;
+                return this;
+            }
+            var newArray = new Object[usedLength - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, usedLength - index - 2);
+            return new BitmapNode(edit, bitmap ^ bit, newArray);
+        }
+
+        private static Node createNode(Object edit, int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(edit, hash1, new Object[]{key1, value1, key2, value2});
+            }
+            var change = new Change();
+            return EMPTY.put(edit, shift, hash1, key1, value1, change).put(edit, shift, hash2, key2, value2, change);
+        }
+    }
+
+    // keys with the same full hash, kept as key/value pairs and searched linearly
+    private static class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit);
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Change change) {
+            if (hash != this.hash) {
+                // other hash goes next to this node in a bitmap node of the current level
+                var parent = new BitmapNode(edit, bit(this.hash, shift), new Object[]{null, this});
+                return parent.put(edit, shift, hash, key, value, change);
+            }
+            int index = indexOf(key);
+            if (index != -1) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                var newArray = array.clone();
+                newArray[index + 1] = value;
+                return new CollisionNode(edit, hash, newArray);
+            }
+            change.added = true;
+            var newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Change change) {
+            int index = indexOf(key);
+            if (index == -1) {
+                return this;
+            }
+            change.removed = true;
+            if (array.length == 2) {
+                return null;
+            }
+            var newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            return index == -1 ? NOT_FOUND : array[index + 1];
+        }
+
+        @Override
+        int slotCount() {
+            return array.length / 2;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (Objects.equals(key, array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static class PersistentHashMapIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        // a trie of 32 bit hashes has at most 7 bitmap levels and a collision node below them
+        private final Node[] nodes = new Node[8];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Map.Entry<K, V> nextEntry;
+
+        private PersistentHashMapIterator(Node root, boolean hasNullKey, V nullKeyValue) {
+            if (root != null) {
+                nodes[++depth] = root;
+            }
+            if (hasNullKey) {
+                nextEntry = new PersistentEntry<>(null, nullKeyValue);
+            } else {
+                advance();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (nextEntry == null) {
+                throw new NoSuchElementException("No such element at map.");
+            }
+            var entry = nextEntry;
+            advance();
+            return entry;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (depth >= 0) {
+                var node = nodes[depth];
+                int position = positions[depth];
+                if (position == node.slotCount()) {
+                    positions[depth--] = 0;
+                    continue;
+                }
+                positions[depth]++;
+                var key = node.array()[2 * position];
+                var valueOrNode = node.array()[2 * position + 1];
+                if (key == null) {
+                    nodes[++depth] = (Node) valueOrNode;
+                } else {
+                    nextEntry = new PersistentEntry<>((K) key, (V) valueOrNode);
+                    return;
+                }
+            }
+            nextEntry = null;
+        }
+    }
+
+    private static class PersistentEntry<K, V> implements Map.Entry<K, V> {
+        private final K key;
+        private final V value;
+
+        private PersistentEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
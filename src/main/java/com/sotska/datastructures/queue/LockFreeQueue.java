@@ -0,0 +1,187 @@
+package com.sotska.datastructures.queue;
+
+import com.sotska.datastructures.list.List;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+// Unbounded multi producer / multi consumer queue without locks (Michael-Scott queue).
+// Nodes are linked by next like LinkedList nodes, head points to a sentinel node whose next is the
+// first element, tail points to the last node or lags one step behind it.
+// offer links a node after the last one with CAS and then swings tail, poll moves head forward with CAS.
+// Any thread that sees tail lagging helps to move it, so no thread waits for another one.
+// head and tail live in separate padded holders, so producers and consumers don't share a cache line.
+public class LockFreeQueue<T> {
+
+    private static final VarHandle NEXT;
+    private static final VarHandle REFERENCE;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            REFERENCE = lookup.findVarHandle(NodeReference.class, "node", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final PaddedNodeReference<T> head = new PaddedNodeReference<>();
+    private final PaddedNodeReference<T> tail = new PaddedNodeReference<>();
+
+    public LockFreeQueue() {
+        var sentinel = new Node<T>(null);
+        head.node = sentinel;
+        tail.node = sentinel;
+    }
+
+    // null is returned by poll of an empty queue, so it can't be an element
+    public boolean offer(T value) {
+        Objects.requireNonNull(value, "Queue does not accept null elements.");
+        var newNode = new Node<>(value);
+        while (true) {
+            var last = tail();
+            var next = last.next();
+            if (last != tail()) {
+                continue;
+            }
+            if (next == null) {
+                if (NEXT.compareAndSet(last, null, newNode)) {
+                    REFERENCE.compareAndSet(tail, last, newNode);
+                    return true;
+                }
+            } else {
+                REFERENCE.compareAndSet(tail, last, next);
+            }
+        }
+    }
+
+    // returns null if the queue is empty
+    public T poll() {
+        while (true) {
+            var sentinel = head();
+            var first = sentinel.next();
+            if (first == null) {
+                return null;
+            }
+            var last = tail();
+            if (sentinel == last) {
+                // tail lags behind the node we are about to take, move it first
+                REFERENCE.compareAndSet(tail, last, first);
+                continue;
+            }
+            var value = first.value;
+            if (REFERENCE.compareAndSet(head, sentinel, first)) {
+                // first is the new sentinel, its value is not needed anymore
+                first.value = null;
+                return value;
+            }
+        }
+    }
+
+    // returns null if the queue is empty
+    public T peek() {
+        while (true) {
+            var sentinel = head();
+            var first = sentinel.next();
+            if (first == null) {
+                return null;
+            }
+            var value = first.value;
+            // a value is cleared only after head has moved past its node
+            if (sentinel == head()) {
+                return value;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return head().next() == null;
+    }
+
+    // walks the nodes, so it is O(n) and only a snapshot while other threads change the queue
+    public int size() {
+        int size = 0;
+        for (var node = head().next(); node != null; node = node.next()) {
+            size++;
+        }
+        return size;
+    }
+
+    public int drainTo(List<? super T> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    // takes up to maxElements elements with a single CAS of head and adds them to target in queue order,
+    // returns the number of taken elements
+    public int drainTo(List<? super T> target, int maxElements) {
+        if (maxElements < 0) {
+            throw new IllegalArgumentException("Max elements should not be negative. Current max elements is " + maxElements);
+        }
+        while (true) {
+            var sentinel = head();
+            var last = sentinel;
+            int count = 0;
+            for (var next = last.next(); next != null && count < maxElements; next = last.next()) {
+                last = next;
+                count++;
+            }
+            if (count == 0) {
+                return 0;
+            }
+            var currentTail = tail();
+            if (currentTail == sentinel) {
+                REFERENCE.compareAndSet(tail, currentTail, sentinel.next());
+                continue;
+            }
+            if (REFERENCE.compareAndSet(head, sentinel, last)) {
+                var node = sentinel;
+                for (int i = 0; i < count; i++) {
+                    node = node.next();
+                    target.add(node.value);
+                }
+                last.value = null;
+                return count;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T> head() {
+        return (Node<T>) REFERENCE.getVolatile(head);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T> tail() {
+        return (Node<T>) REFERENCE.getVolatile(tail);
+    }
+
+    private static class Node<T> {
+        // volatile: peek reads it while poll clears it on another thread
+        private volatile T value;
+        private volatile Node<T> next;
+
+        private Node(T value) {
+            this.value = value;
+        }
+
+        private Node<T> next() {
+            return next;
+        }
+    }
+
+    // fields of a superclass are laid out before fields of a subclass, so the reference ends up
+    // between two blocks of 64 bytes which no other hot field can share
+    private static class LeftPadding {
+        long p01, p02, p03, p04, p05, p06, p07, p08;
+    }
+
+    private static class NodeReference<T> extends LeftPadding {
+        volatile Node<T> node;
+    }
+
+    private static class PaddedNodeReference<T> extends NodeReference<T> {
+        long p11, p12, p13, p14, p15, p16, p17, p18;
+    }
+}
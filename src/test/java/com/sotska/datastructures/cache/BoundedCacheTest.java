@@ -0,0 +1,140 @@
+package com.sotska.datastructures.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @DisplayName("Should Put And Get Element")
+    @Test
+    void shouldPutAndGetElement() {
+        var cache = BoundedCache.<String, String>lru(10);
+
+        assertNull(cache.put("key", "val"));
+        assertEquals(cache.put("key", "val2"), "val");
+        assertEquals(cache.get("key"), "val2");
+        assertTrue(cache.containsKey("key"));
+        assertEquals(cache.size(), 1);
+    }
+
+    @DisplayName("Should Remove Element")
+    @Test
+    void shouldRemoveElement() {
+        var cache = BoundedCache.<String, String>windowTinyLfu(10);
+        cache.put("key", "val");
+
+        assertEquals(cache.remove("key"), "val");
+        assertFalse(cache.containsKey("key"));
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.weightedSize(), 0);
+    }
+
+    @DisplayName("Should Evict Least Recently Used Element")
+    @Test
+    void shouldEvictLeastRecentlyUsedElement() {
+        var cache = BoundedCache.<Integer, Integer>lru(3);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.put(4, 4);
+
+        assertFalse(cache.containsKey(2));
+        assertTrue(cache.containsKey(1));
+        assertTrue(cache.containsKey(3));
+        assertTrue(cache.containsKey(4));
+        assertEquals(cache.evictionCount(), 1);
+    }
+
+    @DisplayName("Should Evict By Weight")
+    @Test
+    void shouldEvictByWeight() {
+        var cache = new BoundedCache<String, String>(10, (key, value) -> value.length(), EvictionPolicy.LRU);
+        cache.put("a", "12345");
+        cache.put("b", "1234");
+        cache.put("c", "123");
+
+        assertFalse(cache.containsKey("a"));
+        assertEquals(cache.weightedSize(), 7);
+
+        cache.put("b", "12345678");
+        assertFalse(cache.containsKey("c"));
+        assertEquals(cache.weightedSize(), 8);
+    }
+
+    @DisplayName("Should Count Hits And Misses")
+    @Test
+    void shouldCountHitsAndMisses() {
+        var cache = BoundedCache.<String, String>windowTinyLfu(10);
+        cache.put("key", "val");
+        cache.get("key");
+        cache.get("key");
+        cache.get("other");
+
+        assertEquals(cache.hitCount(), 2);
+        assertEquals(cache.missCount(), 1);
+        assertEquals(cache.evictionCount(), 0);
+    }
+
+    @DisplayName("Should Never Exceed Maximum Size")
+    @Test
+    void shouldNeverExceedMaximumSize() {
+        for (var evictionPolicy : EvictionPolicy.values()) {
+            var cache = new BoundedCache<Integer, Integer>(100, evictionPolicy);
+            for (int i = 0; i < 10_000; i++) {
+                cache.put(i % 357, i);
+                cache.get(i % 91);
+                assertTrue(cache.size() <= 100);
+            }
+            assertEquals(cache.weightedSize(), cache.size());
+        }
+    }
+
+    @DisplayName("Should Keep Frequently Used Elements During Scan")
+    @Test
+    void shouldKeepFrequentlyUsedElementsDuringScan() {
+        var lruCache = BoundedCache.<Integer, Integer>lru(100);
+        var tinyLfuCache = BoundedCache.<Integer, Integer>windowTinyLfu(100);
+        for (var cache : List.of(lruCache, tinyLfuCache)) {
+            for (int round = 0; round < 10; round++) {
+                for (int hot = 0; hot < 50; hot++) {
+                    if (cache.get(hot) == null) {
+                        cache.put(hot, hot);
+                    }
+                }
+            }
+            for (int scanned = 1_000; scanned < 2_000; scanned++) {
+                cache.put(scanned, scanned);
+            }
+        }
+
+        int lruHotEntries = 0;
+        int tinyLfuHotEntries = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            lruHotEntries += lruCache.containsKey(hot) ? 1 : 0;
+            tinyLfuHotEntries += tinyLfuCache.containsKey(hot) ? 1 : 0;
+        }
+        assertEquals(lruHotEntries, 0);
+        assertEquals(tinyLfuHotEntries, 50);
+    }
+
+    @DisplayName("Should Remove Element While Iterate Through Cache")
+    @Test
+    void shouldRemoveElementWhileIterateThroughCache() {
+        var cache = BoundedCache.<String, String>windowTinyLfu(10);
+        cache.put("key", "val");
+        cache.put("key2", "val2");
+
+        var iterator = cache.iterator();
+        var entry = iterator.next();
+        iterator.remove();
+
+        assertFalse(cache.containsKey(entry.getKey()));
+        assertEquals(cache.size(), 1);
+        assertEquals(cache.weightedSize(), 1);
+    }
+}
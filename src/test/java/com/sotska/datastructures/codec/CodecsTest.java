@@ -0,0 +1,39 @@
+package com.sotska.datastructures.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CodecsTest {
+
+    @DisplayName("Should Write And Read Back Values")
+    @Test
+    void shouldWriteAndReadBackValues() {
+        assertEquals(writeAndRead(Codecs.INTEGER, -42), -42);
+        assertEquals(writeAndRead(Codecs.LONG, Long.MIN_VALUE), Long.MIN_VALUE);
+        assertEquals(writeAndRead(Codecs.DOUBLE, 0.5), 0.5);
+        assertEquals(writeAndRead(Codecs.STRING, "key"), "key");
+    }
+
+    @DisplayName("Should Compute Size Of Multi Byte Strings")
+    @Test
+    void shouldComputeSizeOfMultiByteStrings() {
+        assertEquals(Codecs.STRING.sizeOf("\u043A\u043B\u044E\u0447"), 8);
+        assertEquals(Codecs.STRING.sizeOf("\u20AC"), 3);
+        assertEquals(Codecs.STRING.sizeOf("\uD83D\uDE00"), 4);
+        assertEquals(Codecs.STRING.sizeOf("\uD83D"), 1);
+        assertEquals(writeAndRead(Codecs.STRING, "\u043A\u043B\u044E\u0447 \u20AC\uD83D\uDE00"), "\u043A\u043B\u044E\u0447 \u20AC\uD83D\uDE00");
+    }
+
+    private <T> T writeAndRead(Codec<T> codec, T value) {
+        int size = codec.sizeOf(value);
+        var buffer = ByteBuffer.allocate(size);
+        codec.write(value, buffer);
+        assertEquals(buffer.position(), size);
+        buffer.flip();
+        return codec.read(buffer, size);
+    }
+}
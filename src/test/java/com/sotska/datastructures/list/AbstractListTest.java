@@ -3,17 +3,26 @@ package com.sotska.datastructures.list;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Comparator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 public abstract class AbstractListTest {
 
-    private final List<String> list = getList();
+    // subclasses test their own operations on this instance too
+    final List<String> list = getList();
 
     abstract List<String> getList();
 
+    // lists whose structure changes only at larger sizes (for example deeper trees) raise it
+    int randomOperationCount() {
+        return 5000;
+    }
+
     @DisplayName("Should Add Typed Elements To Array List")
     @Test
     void shouldAddElementsToList() {
@@ -332,4 +341,154 @@ public abstract class AbstractListTest {
         iterator.remove();
         assertThatThrownBy(iterator::remove).isExactlyInstanceOf(IllegalStateException.class);
     }
+
+    @DisplayName("Should Stream Elements In Order")
+    @Test
+    void shouldStreamElementsInOrder() {
+        list.add("one");
+        list.add("two");
+        list.add("three");
+
+        assertThat(list.stream().collect(Collectors.joining(","))).isEqualTo("one,two,three");
+    }
+
+    @DisplayName("Should Collect Large List With Parallel Stream")
+    @Test
+    void shouldCollectLargeListWithParallelStream() {
+        for (int i = 0; i < 10_000; i++) {
+            list.add(String.valueOf(i));
+        }
+
+        assertThat(list.parallelStream().mapToLong(Long::parseLong).sum()).isEqualTo(49_995_000L);
+        assertThat(list.parallelStream().collect(Collectors.toList()).get(9_999)).isEqualTo("9999");
+    }
+
+    @DisplayName("Should Add All Elements Of Other List")
+    @Test
+    void shouldAddAllElementsOfOtherList() {
+        list.add("one");
+        var other = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            other.add(String.valueOf(i));
+        }
+
+        list.addAll(other);
+        list.addAll(new LinkedList<>());
+        list.add("last");
+
+        assertThat(list.size()).isEqualTo(22);
+        assertThat(list.get(0)).isEqualTo("one");
+        assertThat(list.get(20)).isEqualTo("19");
+        assertThat(list.get(21)).isEqualTo("last");
+    }
+
+    @DisplayName("Should Remove Elements Matching Filter")
+    @Test
+    void shouldRemoveElementsMatchingFilter() {
+        for (int i = 0; i < 20; i++) {
+            list.add(String.valueOf(i));
+        }
+
+        assertThat(list.removeIf(value -> Integer.parseInt(value) % 3 != 0)).isTrue();
+        assertThat(list.removeIf(value -> value.equals("absent"))).isFalse();
+
+        assertThat(list.toString()).isEqualTo("[0, 3, 6, 9, 12, 15, 18]");
+        list.add("last");
+        assertThat(list.get(7)).isEqualTo("last");
+    }
+
+    @DisplayName("Should Replace All Elements")
+    @Test
+    void shouldReplaceAllElements() {
+        list.add("one");
+        list.add("two");
+
+        list.replaceAll(String::toUpperCase);
+
+        assertThat(list.toString()).isEqualTo("[ONE, TWO]");
+    }
+
+    @DisplayName("Should Sort Elements")
+    @Test
+    void shouldSortElements() {
+        list.add("b");
+        list.add("c");
+        list.add("a");
+
+        list.sort(null);
+        assertThat(list.toString()).isEqualTo("[a, b, c]");
+
+        list.sort(Comparator.reverseOrder());
+        assertThat(list.toString()).isEqualTo("[c, b, a]");
+    }
+
+    @DisplayName("Should Copy Elements To Array")
+    @Test
+    void shouldCopyElementsToArray() {
+        list.add("one");
+        list.add("two");
+
+        var array = list.toArray();
+
+        assertThat(array.length).isEqualTo(2);
+        assertThat(array[0]).isEqualTo("one");
+        assertThat(array[1]).isEqualTo("two");
+    }
+
+    @DisplayName("Should Walk Both Directions And Modify List With List Iterator")
+    @Test
+    void shouldWalkBothDirectionsAndModifyListWithListIterator() {
+        list.add("one");
+        list.add("two");
+        list.add("three");
+
+        var iterator = list.listIterator(1);
+        assertThat(iterator.previous()).isEqualTo("one");
+        iterator.set("ONE");
+        assertThat(iterator.next()).isEqualTo("ONE");
+        assertThat(iterator.next()).isEqualTo("two");
+        iterator.remove();
+        iterator.add("new");
+        assertThat(iterator.nextIndex()).isEqualTo(2);
+        assertThat(iterator.next()).isEqualTo("three");
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(iterator.previous()).isEqualTo("three");
+        assertThat(iterator.previous()).isEqualTo("new");
+        iterator.remove();
+        assertThat(iterator.previousIndex()).isEqualTo(0);
+
+        assertThat(list.toString()).isEqualTo("[ONE, three]");
+        assertThatThrownBy(iterator::remove).isExactlyInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> list.listIterator(3)).hasMessage("Index should be between 0 and 2 Current index is 3")
+                .isExactlyInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @DisplayName("Should Behave Like Array List Under Random Inserts And Removes")
+    @Test
+    void shouldBehaveLikeArrayListUnderRandomInsertsAndRemoves() {
+        var random = new Random(7);
+        var expected = new java.util.ArrayList<String>();
+        int operations = randomOperationCount();
+
+        for (int i = 0; i < operations; i++) {
+            // grows the list first, then shrinks it back
+            boolean grow = i < operations * 3 / 5 ? random.nextInt(4) > 0 : random.nextInt(4) == 0;
+            if (expected.isEmpty() || grow) {
+                var index = random.nextInt(expected.size() + 1);
+                list.add("value" + i, index);
+                expected.add(index, "value" + i);
+            } else {
+                var index = random.nextInt(expected.size());
+                assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+            }
+        }
+
+        assertThat(list.size()).isEqualTo(expected.size());
+        var iterator = list.iterator();
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(list.get(i)).isEqualTo(expected.get(i));
+            assertThat(iterator.next()).isEqualTo(expected.get(i));
+        }
+        assertThat(iterator.hasNext()).isFalse();
+    }
 }
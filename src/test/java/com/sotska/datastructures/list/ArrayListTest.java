@@ -1,9 +1,34 @@
 package com.sotska.datastructures.list;
 
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 class ArrayListTest extends AbstractListTest {
 
     @Override
     List<String> getList() {
         return new ArrayList<>();
     }
+
+    @DisplayName("Should Split Spliterator By Index Range")
+    @Test
+    void shouldSplitSpliteratorByIndexRange() {
+        var list = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        var suffix = list.spliterator();
+        var prefix = suffix.trySplit();
+
+        assertThat(prefix.estimateSize()).isEqualTo(50);
+        assertThat(suffix.estimateSize()).isEqualTo(50);
+        assertThat(suffix.hasCharacteristics(Spliterator.SUBSIZED)).isTrue();
+        prefix.tryAdvance(value -> assertThat(value).isEqualTo(0));
+        suffix.tryAdvance(value -> assertThat(value).isEqualTo(50));
+    }
 }
@@ -0,0 +1,117 @@
+package com.sotska.datastructures.list;
+
+import com.sotska.datastructures.codec.Codec;
+import com.sotska.datastructures.codec.Codecs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ByteBufferListTest {
+
+    @DisplayName("Should Read List Written To Channel")
+    @Test
+    void shouldReadListWrittenToChannel() throws IOException {
+        var list = new ArrayList<String>();
+        for (int i = 0; i < 50_000; i++) {
+            list.add(i % 1000 == 0 ? null : "value" + i);
+        }
+
+        var bytes = write(list);
+        var readList = ByteBufferList.read(Channels.newChannel(new ByteArrayInputStream(bytes)), Codecs.STRING);
+
+        assertThat(readList.size()).isEqualTo(50_000);
+        for (int i = 0; i < 50_000; i++) {
+            assertThat(readList.get(i)).isEqualTo(list.get(i));
+        }
+        assertThat(readList.indexOf("value1")).isEqualTo(1);
+        assertThat(readList.lastIndexOf(null)).isEqualTo(49_000);
+    }
+
+    @DisplayName("Should Wrap Buffer Without Copying")
+    @Test
+    void shouldWrapBufferWithoutCopying() throws IOException {
+        var list = new LinkedList<Long>();
+        for (long i = 0; i < 1000; i++) {
+            list.add(i * i);
+        }
+        var bytes = write(list, Codecs.LONG);
+        var buffer = ByteBuffer.allocateDirect(bytes.length + 3);
+        buffer.put(new byte[3]).put(bytes).position(3);
+
+        var wrapped = ByteBufferList.wrap(buffer, Codecs.LONG);
+
+        assertThat(wrapped.size()).isEqualTo(1000);
+        long index = 0;
+        for (Long value : wrapped) {
+            assertThat(value).isEqualTo(index * index);
+            index++;
+        }
+        assertThat(wrapped.get(999)).isEqualTo(999L * 999);
+        assertThat(buffer.position()).isEqualTo(3);
+    }
+
+    @DisplayName("Should Write Elements Larger Than Write Buffer")
+    @Test
+    void shouldWriteElementsLargerThanWriteBuffer() throws IOException {
+        var list = new ArrayList<String>();
+        list.add("a");
+        list.add("b".repeat(200_000));
+        list.add("");
+
+        var readList = ByteBufferList.wrap(ByteBuffer.wrap(write(list)), Codecs.STRING);
+
+        assertThat(readList.get(0)).isEqualTo("a");
+        assertThat(readList.get(1)).hasSize(200_000);
+        assertThat(readList.get(2)).isEmpty();
+    }
+
+    @DisplayName("Should Throw Exception If Modify List")
+    @Test
+    void shouldThrowExceptionIfModifyList() throws IOException {
+        var list = new ArrayList<String>();
+        list.add("a");
+        var readList = ByteBufferList.wrap(ByteBuffer.wrap(write(list)), Codecs.STRING);
+
+        assertThatThrownBy(() -> readList.add("b"))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessage("Byte buffer list is read only.");
+        assertThatThrownBy(() -> readList.get(1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @DisplayName("Should Throw Exception If Buffer Does Not Hold List")
+    @Test
+    void shouldThrowExceptionIfBufferDoesNotHoldList() throws IOException {
+        var list = new ArrayList<String>();
+        list.add("value");
+        var bytes = write(list);
+
+        assertThatThrownBy(() -> ByteBufferList.wrap(ByteBuffer.allocate(64), Codecs.STRING))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Data is not a serialized list.");
+        assertThatThrownBy(() -> ByteBufferList.wrap(ByteBuffer.wrap(bytes, 0, bytes.length - 1), Codecs.STRING))
+                .isInstanceOf(IOException.class);
+        var truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThatThrownBy(() -> ByteBufferList.read(Channels.newChannel(new ByteArrayInputStream(truncated)), Codecs.STRING))
+                .isInstanceOf(IOException.class);
+    }
+
+    private byte[] write(List<String> list) throws IOException {
+        return write(list, Codecs.STRING);
+    }
+
+    private <T> byte[] write(List<T> list, Codec<T> codec) throws IOException {
+        var output = new ByteArrayOutputStream();
+        ByteBufferList.write(list, Channels.newChannel(output), codec);
+        return output.toByteArray();
+    }
+}
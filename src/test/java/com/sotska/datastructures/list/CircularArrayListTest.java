@@ -0,0 +1,31 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircularArrayListTest extends AbstractListTest {
+
+    @Override
+    List<String> getList() {
+        return new CircularArrayList<>();
+    }
+
+    @DisplayName("Should Work As Queue While Wrapping Around Array")
+    @Test
+    void shouldWorkAsQueueWhileWrappingAroundArray() {
+        var list = new CircularArrayList<Integer>(4);
+        int nextToRemove = 0;
+        for (int i = 0; i < 1000; i++) {
+            list.addLast(i);
+            if (i % 3 != 0) {
+                assertThat(list.removeFirst()).isEqualTo(nextToRemove++);
+            }
+        }
+
+        assertThat(list.size()).isEqualTo(1000 - nextToRemove);
+        assertThat(list.getFirst()).isEqualTo(nextToRemove);
+        assertThat(list.getLast()).isEqualTo(999);
+    }
+}
@@ -0,0 +1,143 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CopyOnWriteArrayListTest extends AbstractListTest {
+
+    @Override
+    List<String> getList() {
+        return new CopyOnWriteArrayList<>();
+    }
+
+    // snapshot iterators can not remove, so the inherited iterator remove tests expect UnsupportedOperationException
+    @Override
+    @DisplayName("Should Throw Unsupported Operation Exception If Remove While Iterate Through List")
+    @Test
+    void shouldRemoveElementWhileIterateThroughList() {
+        list.add("one");
+        list.add("two");
+
+        var iterator = list.iterator();
+        assertThat(iterator.next()).isEqualTo("one");
+
+        assertThatThrownBy(iterator::remove).isExactlyInstanceOf(UnsupportedOperationException.class)
+                .hasMessage("Snapshot iterator does not support remove.");
+        assertThat(list.size()).isEqualTo(2);
+    }
+
+    @Override
+    @DisplayName("Should Throw Unsupported Operation Exception If Remove Without Call Next Method")
+    @Test
+    void shouldThrowExceptionWhileIterateIfRemoveWithoutCallNextMethod() {
+        list.add("one");
+
+        var iterator = list.iterator();
+        assertThatThrownBy(iterator::remove).isExactlyInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Override
+    @DisplayName("Should Throw Unsupported Operation Exception If Remove After Next")
+    @Test
+    void shouldThrowExceptionWhileIterateIfRemoveAlreadyCalledOnThisElement() {
+        list.add("one");
+
+        var iterator = list.iterator();
+        iterator.next();
+        assertThatThrownBy(iterator::remove).isExactlyInstanceOf(UnsupportedOperationException.class);
+        assertThat(list.contains("one")).isTrue();
+    }
+
+    @DisplayName("Should Iterate Snapshot Taken When Iterator Was Created")
+    @Test
+    void shouldIterateSnapshotTakenWhenIteratorWasCreated() {
+        list.add("one");
+        list.add("two");
+
+        var iterator = list.iterator();
+        list.remove(0);
+        list.add("three");
+
+        assertThat(iterator.next()).isEqualTo("one");
+        assertThat(iterator.next()).isEqualTo("two");
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::remove).isExactlyInstanceOf(UnsupportedOperationException.class);
+        assertThat(list.toString()).isEqualTo("[two, three]");
+    }
+
+    @DisplayName("Should Apply Batch Of Changes In One Update")
+    @Test
+    void shouldApplyBatchOfChangesInOneUpdate() {
+        list.add("a");
+        list.add("b");
+
+        ((CopyOnWriteArrayList<String>) list).update(copy -> {
+            copy.add("c");
+            copy.remove(0);
+            copy.add("z", 0);
+            copy.sort(null);
+        });
+
+        assertThat(list.toString()).isEqualTo("[b, c, z]");
+    }
+
+    @DisplayName("Should Apply Bulk Operations")
+    @Test
+    void shouldApplyBulkOperations() {
+        var other = new ArrayList<String>();
+        other.add("1");
+        other.add("2");
+        other.add("3");
+
+        list.addAll(other);
+        assertThat(list.removeIf(value -> value.equals("2"))).isTrue();
+        assertThat(list.removeIf(value -> value.equals("2"))).isFalse();
+        list.replaceAll(value -> value + value);
+
+        assertThat(list.toArray()).containsExactly("11", "33");
+        assertThat(list.stream().count()).isEqualTo(2);
+    }
+
+    @DisplayName("Should Never Show Half Applied Batch To Concurrent Readers")
+    @Test
+    void shouldNeverShowHalfAppliedBatchToConcurrentReaders() throws InterruptedException {
+        var numbers = new CopyOnWriteArrayList<Integer>();
+        var stop = new AtomicBoolean();
+        var failed = new AtomicBoolean();
+        var readersDone = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            new Thread(() -> {
+                while (!stop.get()) {
+                    int count = 0;
+                    for (Integer ignored : numbers) {
+                        count++;
+                    }
+                    // writers always add pairs of elements
+                    if (count % 2 != 0) {
+                        failed.set(true);
+                    }
+                }
+                readersDone.countDown();
+            }).start();
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            int value = i;
+            numbers.update(copy -> {
+                copy.add(value);
+                copy.add(-value);
+            });
+        }
+        stop.set(true);
+        readersDone.await();
+
+        assertThat(failed.get()).isFalse();
+        assertThat(numbers.size()).isEqualTo(4000);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoubleArrayListTest {
+
+    private final DoubleArrayList list = new DoubleArrayList();
+
+    @DisplayName("Should Compare Values Like Double Equals")
+    @Test
+    void shouldCompareValuesLikeDoubleEquals() {
+        list.addAll(new double[]{0.0, Double.NaN, 1.5});
+
+        assertThat(list.indexOf(Double.NaN)).isEqualTo(1);
+        assertThat(list.indexOf(-0.0)).isEqualTo(-1);
+        assertThat(list.lastIndexOf(1.5)).isEqualTo(2);
+    }
+
+    @DisplayName("Should Remove Elements While Iterate")
+    @Test
+    void shouldRemoveElementsWhileIterate() {
+        list.addAll(new double[]{1.0, 2.0, 3.0});
+
+        var iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextDouble() > 1.0) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(list.toArray()).containsExactly(1.0);
+    }
+}
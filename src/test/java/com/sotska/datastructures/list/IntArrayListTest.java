@@ -0,0 +1,110 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntArrayListTest {
+
+    private final IntArrayList list = new IntArrayList();
+
+    @DisplayName("Should Add Elements And Grow")
+    @Test
+    void shouldAddElementsAndGrow() {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        assertThat(list.size()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(list.get(i)).isEqualTo(i);
+        }
+    }
+
+    @DisplayName("Should Add Element By Index")
+    @Test
+    void shouldAddElementByIndex() {
+        list.add(1);
+        list.add(3);
+        list.add(2, 1);
+        list.add(0, 0);
+
+        assertThat(list.toArray()).containsExactly(0, 1, 2, 3);
+    }
+
+    @DisplayName("Should Add All Elements Of Array")
+    @Test
+    void shouldAddAllElementsOfArray() {
+        list.add(1);
+        list.addAll(new int[]{2, 3, 4, 5, 6, 7, 8});
+
+        assertThat(list.toArray()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(list.toString()).isEqualTo("[1, 2, 3, 4, 5, 6, 7, 8]");
+    }
+
+    @DisplayName("Should Remove And Set Element By Index")
+    @Test
+    void shouldRemoveAndSetElementByIndex() {
+        list.addAll(new int[]{1, 2, 3});
+
+        assertThat(list.remove(1)).isEqualTo(2);
+        assertThat(list.set(5, 1)).isEqualTo(3);
+
+        assertThat(list.toArray()).containsExactly(1, 5);
+    }
+
+    @DisplayName("Should Find Index Of Element")
+    @Test
+    void shouldFindIndexOfElement() {
+        list.addAll(new int[]{1, 2, 1, 3});
+
+        assertThat(list.indexOf(1)).isEqualTo(0);
+        assertThat(list.lastIndexOf(1)).isEqualTo(2);
+        assertThat(list.indexOf(4)).isEqualTo(-1);
+        assertThat(list.contains(3)).isTrue();
+    }
+
+    @DisplayName("Should Clear List")
+    @Test
+    void shouldClearList() {
+        list.addAll(new int[]{1, 2, 3});
+        list.clear();
+
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.toArray()).isEmpty();
+    }
+
+    @DisplayName("Should Throw Index Out Of Bounds Exception If Get Element By Index More Than Size")
+    @Test
+    void shouldThrowIndexOutOfBoundsExceptionIfGetElementByIndexMoreThanSize() {
+        list.add(1);
+
+        assertThatThrownBy(() -> list.get(1)).hasMessage("Index should be between 0 and 1 Current index is 1")
+                .isExactlyInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @DisplayName("Should Iterate And Remove Elements")
+    @Test
+    void shouldIterateAndRemoveElements() {
+        list.addAll(new int[]{1, 2, 3, 4});
+
+        var iterator = list.iterator();
+        int sum = 0;
+        while (iterator.hasNext()) {
+            var value = iterator.nextInt();
+            sum += value;
+            if (value % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(sum).isEqualTo(10);
+        assertThat(list.toArray()).containsExactly(1, 3);
+        assertThatThrownBy(iterator::nextInt).isExactlyInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(iterator::remove).isExactlyInstanceOf(IllegalStateException.class);
+    }
+}
@@ -1,9 +1,83 @@
 package com.sotska.datastructures.list;
 
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 class LinkedListTest extends AbstractListTest {
 
     @Override
     List<String> getList() {
         return new LinkedList<>();
     }
-}
\ No newline at end of file
+
+    @DisplayName("Should Split Spliterator By Batches")
+    @Test
+    void shouldSplitSpliteratorByBatches() {
+        var list = new LinkedList<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            list.add(i);
+        }
+
+        var spliterator = list.spliterator();
+        var firstBatch = spliterator.trySplit();
+        var secondBatch = spliterator.trySplit();
+
+        assertThat(firstBatch.estimateSize()).isEqualTo(1024);
+        assertThat(secondBatch.estimateSize()).isEqualTo(2048);
+        assertThat(spliterator.estimateSize()).isEqualTo(5000 - 1024 - 2048);
+        secondBatch.tryAdvance(value -> assertThat(value).isEqualTo(1024));
+        spliterator.tryAdvance(value -> assertThat(value).isEqualTo(3072));
+    }
+
+    @DisplayName("Should Remove Every Element While Iterate Through List")
+    @Test
+    void shouldRemoveEveryElementWhileIterateThroughList() {
+        var list = new LinkedList<Integer>();
+        for (int i = 0; i < 5; i++) {
+            list.add(i);
+        }
+
+        var iterator = list.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertThat(list.isEmpty()).isTrue();
+        list.add(7);
+        assertThat(list.get(0)).isEqualTo(7);
+        assertThat(list.lastIndexOf(7)).isEqualTo(0);
+    }
+
+    @DisplayName("Should Keep Finger Consistent Under Random Indexed Access")
+    @Test
+    void shouldKeepFingerConsistentUnderRandomIndexedAccess() {
+        var random = new Random(3);
+        var list = new LinkedList<Integer>();
+        var expected = new java.util.ArrayList<Integer>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(4);
+            if (expected.isEmpty() || operation == 0) {
+                var index = random.nextInt(expected.size() + 1);
+                list.add(i, index);
+                expected.add(index, i);
+            } else if (operation == 1) {
+                var index = random.nextInt(expected.size());
+                assertThat(list.remove(index)).isEqualTo(expected.remove(index));
+            } else {
+                // mostly steps next to the previous index, like sequential loops do
+                var index = Math.floorMod(i + random.nextInt(3) - 1, expected.size());
+                assertThat(list.get(index)).isEqualTo(expected.get(index));
+            }
+        }
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(list.get(i)).isEqualTo(expected.get(i));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongArrayListTest {
+
+    private final LongArrayList list = new LongArrayList(0);
+
+    @DisplayName("Should Add Elements To Empty Capacity List")
+    @Test
+    void shouldAddElementsToEmptyCapacityList() {
+        list.add(Long.MAX_VALUE);
+        list.addAll(new long[]{1L, 2L});
+        list.add(0L, 1);
+
+        assertThat(list.toArray()).containsExactly(Long.MAX_VALUE, 0L, 1L, 2L);
+        assertThat(list.indexOf(2L)).isEqualTo(3);
+    }
+
+    @DisplayName("Should Iterate Through List")
+    @Test
+    void shouldIterateThroughList() {
+        list.addAll(new long[]{1L, 2L, 3L});
+
+        var sum = 0L;
+        for (var iterator = list.iterator(); iterator.hasNext(); ) {
+            sum += iterator.nextLong();
+        }
+
+        assertThat(sum).isEqualTo(6L);
+    }
+}
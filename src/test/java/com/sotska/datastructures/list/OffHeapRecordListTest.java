@@ -0,0 +1,136 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapRecordListTest {
+
+    private final RecordSchema schema = RecordSchema.builder()
+            .addLong("id")
+            .addInt("quantity")
+            .addDouble("price")
+            .addByte("side")
+            .build();
+    private final RecordSchema.Field id = schema.field("id");
+    private final RecordSchema.Field quantity = schema.field("quantity");
+    private final RecordSchema.Field price = schema.field("price");
+    private final RecordSchema.Field side = schema.field("side");
+
+    @DisplayName("Should Align Fields In Schema")
+    @Test
+    void shouldAlignFieldsInSchema() {
+        assertThat(id.offset()).isEqualTo(0);
+        assertThat(quantity.offset()).isEqualTo(8);
+        assertThat(price.offset()).isEqualTo(16);
+        assertThat(side.offset()).isEqualTo(24);
+        assertThat(schema.recordSize()).isEqualTo(32);
+        assertThat(schema.fields()).containsExactly(id, quantity, price, side);
+    }
+
+    @DisplayName("Should Store Records While Growing")
+    @Test
+    void shouldStoreRecordsWhileGrowing() {
+        try (var list = new OffHeapRecordList(schema, 2)) {
+            for (int i = 0; i < 100_000; i++) {
+                int index = list.add();
+                list.setLong(i * 10L, index, id);
+                list.setInt(i, index, quantity);
+                list.setDouble(i / 2.0, index, price);
+                list.setByte((byte) (i % 2), index, side);
+            }
+
+            assertThat(list.size()).isEqualTo(100_000);
+            double total = 0;
+            for (int i = 0; i < list.size(); i++) {
+                assertThat(list.getLong(i, id)).isEqualTo(i * 10L);
+                assertThat(list.getInt(i, quantity)).isEqualTo(i);
+                assertThat(list.getByte(i, side)).isEqualTo((byte) (i % 2));
+                total += list.getDouble(i, price);
+            }
+            assertThat(total).isEqualTo(99_999L * 100_000 / 4.0);
+        }
+    }
+
+    @DisplayName("Should Remove Records")
+    @Test
+    void shouldRemoveRecords() {
+        try (var list = new OffHeapRecordList(schema)) {
+            for (int i = 0; i < 10; i++) {
+                list.setLong(i, list.add(), id);
+            }
+
+            list.remove(2);
+            list.swapRemove(0);
+
+            assertThat(list.size()).isEqualTo(8);
+            assertThat(list.getLong(0, id)).isEqualTo(9);
+            assertThat(list.getLong(1, id)).isEqualTo(1);
+            assertThat(list.getLong(2, id)).isEqualTo(3);
+            assertThat(list.getLong(7, id)).isEqualTo(8);
+        }
+    }
+
+    @DisplayName("Should Add Record With Zero Fields After Clear")
+    @Test
+    void shouldAddRecordWithZeroFieldsAfterClear() {
+        try (var list = new OffHeapRecordList(schema)) {
+            list.setLong(5, list.add(), id);
+            list.clear();
+
+            int index = list.add();
+
+            assertThat(index).isEqualTo(0);
+            assertThat(list.getLong(index, id)).isEqualTo(0);
+        }
+    }
+
+    @DisplayName("Should Throw Exception If Field Type Does Not Match")
+    @Test
+    void shouldThrowExceptionIfFieldTypeDoesNotMatch() {
+        try (var list = new OffHeapRecordList(schema)) {
+            list.add();
+
+            assertThatThrownBy(() -> list.getInt(0, price))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Field price should be INT. Current type is DOUBLE");
+            assertThatThrownBy(() -> list.getLong(1, id))
+                    .isInstanceOf(IndexOutOfBoundsException.class)
+                    .hasMessage("Index should be between 0 and 1 Current index is 1");
+            assertThatThrownBy(() -> schema.field("missing"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @DisplayName("Should Throw Exception If Field Belongs To Another Schema")
+    @Test
+    void shouldThrowExceptionIfFieldBelongsToAnotherSchema() {
+        var otherSchema = RecordSchema.builder()
+                .addLong("padding")
+                .addLong("id")
+                .build();
+        try (var list = new OffHeapRecordList(schema)) {
+            list.add();
+
+            assertThatThrownBy(() -> list.getLong(0, otherSchema.field("id")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Field id does not belong to the schema of this list.");
+            assertThat(schema.contains(id)).isTrue();
+            assertThat(otherSchema.contains(id)).isFalse();
+        }
+    }
+
+    @DisplayName("Should Throw Exception If Use Closed List")
+    @Test
+    void shouldThrowExceptionIfUseClosedList() {
+        var list = new OffHeapRecordList(schema);
+        list.add();
+        list.close();
+
+        assertThatThrownBy(() -> list.getLong(0, id))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("List is closed.");
+    }
+}
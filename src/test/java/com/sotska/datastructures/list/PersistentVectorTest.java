@@ -0,0 +1,98 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersistentVectorTest {
+
+    @DisplayName("Should Append Elements Without Changing Previous Versions")
+    @Test
+    void shouldAppendElementsWithoutChangingPreviousVersions() {
+        var empty = PersistentVector.<Integer>empty();
+        var vector = empty;
+        PersistentVector<Integer> version1000 = null;
+        for (int i = 0; i < 40_000; i++) {
+            vector = vector.append(i);
+            if (i == 999) {
+                version1000 = vector;
+            }
+        }
+
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(vector.size()).isEqualTo(40_000);
+        assertThat(version1000.size()).isEqualTo(1000);
+        for (int i = 0; i < 40_000; i++) {
+            assertThat(vector.get(i)).isEqualTo(i);
+        }
+        assertThat(version1000.get(999)).isEqualTo(999);
+    }
+
+    @DisplayName("Should Replace Element In New Version Only")
+    @Test
+    void shouldReplaceElementInNewVersionOnly() {
+        var vector = PersistentVector.<Integer>empty();
+        for (int i = 0; i < 2000; i++) {
+            vector = vector.append(i);
+        }
+
+        var changed = vector.with(-1, 5).with(-2, 1990);
+
+        assertThat(changed.get(5)).isEqualTo(-1);
+        assertThat(changed.get(1990)).isEqualTo(-2);
+        assertThat(vector.get(5)).isEqualTo(5);
+        assertThat(vector.get(1990)).isEqualTo(1990);
+        assertThat(changed.indexOf(-2)).isEqualTo(1990);
+        assertThat(changed.lastIndexOf(6)).isEqualTo(6);
+    }
+
+    @DisplayName("Should Build Vector With Builder")
+    @Test
+    void shouldBuildVectorWithBuilder() {
+        var builder = PersistentVector.<Integer>builder();
+        for (int i = 0; i < 35_000; i++) {
+            builder.add(i);
+        }
+        var first = builder.build();
+        for (int i = 35_000; i < 70_000; i++) {
+            builder.add(i);
+        }
+        var second = builder.build();
+
+        assertThat(first.size()).isEqualTo(35_000);
+        assertThat(second.size()).isEqualTo(70_000);
+        int expected = 0;
+        for (Integer value : second) {
+            assertThat(value).isEqualTo(expected++);
+        }
+        for (int i = 0; i < 35_000; i++) {
+            assertThat(first.get(i)).isEqualTo(i);
+        }
+        assertThat(first.append(-1).get(35_000)).isEqualTo(-1);
+        assertThat(second.get(35_000)).isEqualTo(35_000);
+    }
+
+    @DisplayName("Should Continue Existing Vector In Builder")
+    @Test
+    void shouldContinueExistingVectorInBuilder() {
+        var vector = PersistentVector.of("a", "b", "c");
+        var longer = vector.toBuilder().add("d").add("e").build();
+
+        assertThat(vector.toString()).isEqualTo("[a, b, c]");
+        assertThat(longer.toString()).isEqualTo("[a, b, c, d, e]");
+    }
+
+    @DisplayName("Should Throw Exception If Mutate Vector")
+    @Test
+    void shouldThrowExceptionIfMutateVector() {
+        var vector = PersistentVector.of("a");
+
+        assertThatThrownBy(() -> vector.add("b")).isExactlyInstanceOf(UnsupportedOperationException.class)
+                .hasMessage("Persistent vector is immutable. Use append or with.");
+        assertThatThrownBy(() -> vector.remove(0)).isExactlyInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> vector.get(1)).hasMessage("Index should be between 0 and 1 Current index is 1")
+                .isExactlyInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
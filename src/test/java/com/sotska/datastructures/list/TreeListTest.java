@@ -0,0 +1,46 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TreeListTest extends AbstractListTest {
+
+    @Override
+    List<String> getList() {
+        return new TreeList<>();
+    }
+
+    // enough elements for the random test to grow the tree a few levels and shrink it back
+    @Override
+    int randomOperationCount() {
+        return 200_000;
+    }
+
+    @DisplayName("Should Remove Every Other Element While Iterate Through List")
+    @Test
+    void shouldRemoveEveryOtherElementWhileIterateThroughList() {
+        var list = new TreeList<Integer>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+
+        var iterator = list.iterator();
+        int expectedValue = 0;
+        while (iterator.hasNext()) {
+            var value = iterator.next();
+            assertThat(value).isEqualTo(expectedValue++);
+            if (value % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(list.size()).isEqualTo(5_000);
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(list.get(i)).isEqualTo(i * 2 + 1);
+        }
+        assertThat(list.indexOf(9_999)).isEqualTo(4_999);
+        assertThat(list.lastIndexOf(1)).isEqualTo(0);
+    }
+}
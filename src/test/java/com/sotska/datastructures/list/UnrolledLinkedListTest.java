@@ -0,0 +1,40 @@
+package com.sotska.datastructures.list;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnrolledLinkedListTest extends AbstractListTest {
+
+    // small nodes, so the common tests split and merge nodes too
+    @Override
+    List<String> getList() {
+        return new UnrolledLinkedList<>(2);
+    }
+
+    @DisplayName("Should Remove Every Other Element While Iterate Through List")
+    @Test
+    void shouldRemoveEveryOtherElementWhileIterateThroughList() {
+        var list = new UnrolledLinkedList<Integer>(4);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        var iterator = list.iterator();
+        int expectedValue = 0;
+        while (iterator.hasNext()) {
+            var value = iterator.next();
+            assertThat(value).isEqualTo(expectedValue++);
+            if (value % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(list.size()).isEqualTo(50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(list.get(i)).isEqualTo(i * 2 + 1);
+        }
+        assertThat(list.lastIndexOf(99)).isEqualTo(49);
+    }
+}
@@ -0,0 +1,232 @@
+package com.sotska.datastructures.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public abstract class AbstractMapTest {
+    private final Map<String, String> map = getMap();
+
+    abstract Map<String, String> getMap();
+
+    @DisplayName("Should Put Element To Map")
+    @Test
+    void shouldPutElementToMap() {
+        assertNull(map.put("key", "val"));
+        assertEquals(map.put("key", "val2"), "val");
+        assertEquals(map.size(), 1);
+        assertEquals(map.get("key"), "val2");
+    }
+
+    @DisplayName("Should Increase Number Of Buckets")
+    @Test
+    void shouldIncreaseNumberOfBuckets() {
+        assertNull(map.put("key", "val"));
+        assertNull(map.put("key2", "val2"));
+        assertNull(map.put("val", "val"));
+        assertNull(map.put("val2", "val2"));
+        assertNull(map.put(null, "val2"));
+        assertEquals(map.size(), 5);
+    }
+
+    @DisplayName("Should Return Element By Key")
+    @Test
+    void shouldReturnElementByKey() {
+        map.put("key", "val");
+        assertEquals(map.get("key"), "val");
+    }
+
+    @DisplayName("Should Return Null If Get Element That Not Exist")
+    @Test
+    void shouldReturnNullIfGetElementThatNotExist() {
+        map.put("key", "val");
+        assertNull(map.get("key2"));
+    }
+
+    @DisplayName("Should Return True If Contains Key")
+    @Test
+    void shouldReturnTrueIfContainsKey() {
+        map.put("key", "val");
+        assertTrue(map.containsKey("key"));
+    }
+
+    @DisplayName("Should Return False If Not Contains Key")
+    @Test
+    void shouldReturnFalseIfNotContainsKey() {
+        map.put("key", "val");
+        assertFalse(map.containsKey("key2"));
+    }
+
+    @DisplayName("Should Remove Element")
+    @Test
+    void shouldRemoveElement() {
+        map.put("key", "val");
+        assertEquals(map.remove("key"), "val");
+        assertFalse(map.containsKey("key"));
+    }
+
+    @DisplayName("Should Return Null If Remove Element That Not Exist")
+    @Test
+    void shouldReturnNullIfRemoveElementThatNotExist() {
+        assertNull(map.remove("key"));
+    }
+
+    @DisplayName("Should Return Size Of Map")
+    @Test
+    void shouldReturnSizeOfMap() {
+        map.put("key", "val");
+        assertEquals(map.size(), 1);
+    }
+
+    @DisplayName("Should Return Size Of Empty Map")
+    @Test
+    void shouldReturnSizeOfEmptyMap() {
+        assertEquals(map.size(), 0);
+    }
+
+    @DisplayName("Should Iterate Through Map")
+    @Test
+    void shouldIterateThroughMap() {
+        var expectedKeys = Set.of("key", "key2");
+        var expectedValues = Set.of("val", "val2");
+
+        map.put("key", "val");
+        map.put("key2", "val2");
+        var iterator = map.iterator();
+
+        assertTrue(iterator.hasNext());
+        var firstElement = iterator.next();
+        assertTrue(iterator.hasNext());
+        var secondElement = iterator.next();
+        assertFalse(iterator.hasNext());
+
+        assertEquals(Set.of(firstElement.getKey(), secondElement.getKey()), expectedKeys);
+        assertEquals(Set.of(firstElement.getValue(), secondElement.getValue()), expectedValues);
+    }
+
+    @DisplayName("Should Remove Element While Iterate Through Map")
+    @Test
+    void shouldRemoveElementWhileIterateThroughMap() {
+        map.put("key2", "val2");
+        var iterator = map.iterator();
+        assertTrue(iterator.hasNext());
+
+        var nextElement = iterator.next();
+        assertEquals(nextElement.getKey(), "key2");
+        assertEquals(nextElement.getValue(), "val2");
+        iterator.remove();
+        assertFalse(map.containsKey("key2"));
+        assertEquals(map.size(), 0);
+    }
+
+    @DisplayName("Should Throw Exception If No Such Elements")
+    @Test
+    void shouldThrowExceptionIfNoSuchElements() {
+        var expectedKeys = Set.of("key", "key2");
+        var expectedValues = Set.of("val", "val2");
+
+        map.put("key", "val");
+        map.put("key2", "val2");
+
+        var iterator = map.iterator();
+        assertTrue(iterator.hasNext());
+        var firstElement = iterator.next();
+        assertTrue(iterator.hasNext());
+        var secondElement = iterator.next();
+        assertFalse(iterator.hasNext());
+        assertEquals(Set.of(firstElement.getKey(), secondElement.getKey()), expectedKeys);
+        assertEquals(Set.of(firstElement.getValue(), secondElement.getValue()), expectedValues);
+
+        var exception = assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(exception.getMessage(), "No such element at map.");
+    }
+
+    @DisplayName("Should Throw Exception If Remove Element In Iterator Without Call Next")
+    @Test
+    void shouldThrowExceptionIfRemoveElementInIteratorWithoutCallNext() {
+        var iterator = map.iterator();
+
+        var exception = assertThrows(IllegalStateException.class, iterator::remove);
+        assertEquals(exception.getMessage(), "Have no element to remove.");
+    }
+
+    @DisplayName("Should Put All Entries Of Other Map")
+    @Test
+    void shouldPutAllEntriesOfOtherMap() {
+        map.put("key", "val");
+        var other = new HashMap<String, String>();
+        other.put("key", "newVal");
+        other.put("key2", "val2");
+        other.put(null, "nullVal");
+
+        map.putAll(other);
+
+        assertEquals(map.size(), 3);
+        assertEquals(map.get("key"), "newVal");
+        assertEquals(map.get("key2"), "val2");
+        assertEquals(map.get(null), "nullVal");
+    }
+
+    @DisplayName("Should Get All Values By Keys")
+    @Test
+    void shouldGetAllValuesByKeys() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, "val" + i);
+        }
+        var keys = new String[101];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key" + (100 - i);
+        }
+        var values = new String[keys.length];
+
+        map.getAll(keys, values);
+
+        assertNull(values[0]);
+        for (int i = 1; i < keys.length; i++) {
+            assertEquals(values[i], "val" + (100 - i));
+        }
+    }
+
+    @DisplayName("Should Throw Exception If Values Array Is Shorter Than Keys Array")
+    @Test
+    void shouldThrowExceptionIfValuesArrayIsShorterThanKeysArray() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> map.getAll(new String[]{"key", "key2"}, new String[1]));
+        assertEquals(exception.getMessage(), "Values array should not be shorter than keys array. Keys length is 2 values length is 1");
+    }
+
+    @DisplayName("Should Remove All Keys")
+    @Test
+    void shouldRemoveAllKeys() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, "val" + i);
+        }
+        var keys = new String[60];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key" + (i * 2);
+        }
+
+        assertEquals(map.removeAll(keys), 50);
+
+        assertEquals(map.size(), 50);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(map.containsKey("key" + i), i % 2 == 1);
+        }
+    }
+
+    @DisplayName("Should Stream All Entries")
+    @Test
+    void shouldStreamAllEntries() {
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, String.valueOf(i));
+        }
+
+        assertEquals(map.parallelStream().mapToInt(entry -> Integer.parseInt(entry.getValue())).sum(), 499_500);
+        assertEquals(map.stream().map(Map.Entry::getKey).collect(Collectors.toSet()).size(), 1000);
+    }
+}
@@ -0,0 +1,202 @@
+package com.sotska.datastructures.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BTreeMapTest extends AbstractMapTest {
+
+    @Override
+    Map<String, String> getMap() {
+        return new BTreeMap<>();
+    }
+
+    @DisplayName("Should Iterate In Key Order")
+    @Test
+    void shouldIterateInKeyOrder() {
+        var map = new BTreeMap<Integer, Integer>();
+        for (int i = 9_999; i >= 0; i--) {
+            map.put(i * 7 % 10_000, i);
+        }
+
+        int expected = 0;
+        for (Map.Entry<Integer, Integer> entry : map) {
+            assertEquals(entry.getKey(), expected++);
+        }
+        assertEquals(expected, 10_000);
+        assertEquals(map.firstEntry().getKey(), 0);
+        assertEquals(map.lastEntry().getKey(), 9_999);
+    }
+
+    @DisplayName("Should Find Floor And Ceiling Entries")
+    @Test
+    void shouldFindFloorAndCeilingEntries() {
+        var map = new BTreeMap<Integer, String>();
+        for (int i = 0; i < 5000; i++) {
+            map.put(i * 10, "val" + i);
+        }
+
+        assertEquals(map.floorEntry(25).getKey(), 20);
+        assertEquals(map.floorEntry(30).getKey(), 30);
+        assertEquals(map.floorEntry(100_000).getKey(), 49_990);
+        assertNull(map.floorEntry(-1));
+        assertEquals(map.ceilingEntry(25).getKey(), 30);
+        assertEquals(map.ceilingEntry(-5).getKey(), 0);
+        assertEquals(map.ceilingEntry(30).getValue(), "val3");
+        assertNull(map.ceilingEntry(49_991));
+    }
+
+    @DisplayName("Should Find Floor After Removes Left Stale Separators")
+    @Test
+    void shouldFindFloorAfterRemovesLeftStaleSeparators() {
+        var map = new BTreeMap<Integer, Integer>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i);
+        }
+        var expected = new TreeMap<Integer, Integer>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 100 < 90) {
+                map.remove(i);
+            } else {
+                expected.put(i, i);
+            }
+        }
+
+        for (int i = -1; i < 10_001; i++) {
+            var floor = map.floorEntry(i);
+            var expectedFloor = expected.floorKey(i);
+            assertEquals(floor == null ? null : floor.getKey(), expectedFloor);
+            var ceiling = map.ceilingEntry(i);
+            var expectedCeiling = expected.ceilingKey(i);
+            assertEquals(ceiling == null ? null : ceiling.getKey(), expectedCeiling);
+        }
+    }
+
+    @DisplayName("Should Iterate Sub Map")
+    @Test
+    void shouldIterateSubMap() {
+        var map = new BTreeMap<Integer, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 2, i);
+        }
+
+        var keys = new ArrayList<Integer>();
+        for (Map.Entry<Integer, Integer> entry : map.subMap(101, 301)) {
+            keys.add(entry.getKey());
+        }
+
+        assertEquals(keys.size(), 100);
+        assertEquals(keys.get(0), 102);
+        assertEquals(keys.get(99), 300);
+        assertFalse(map.subMap(5000, 6000).iterator().hasNext());
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(10, 5));
+    }
+
+    @DisplayName("Should Remove Entries While Iterate Sub Map")
+    @Test
+    void shouldRemoveEntriesWhileIterateSubMap() {
+        var map = new BTreeMap<Integer, Integer>();
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, i);
+        }
+
+        var iterator = map.subMap(1000, 4000).iterator();
+        int iterated = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            iterated++;
+        }
+
+        assertEquals(iterated, 3000);
+        assertEquals(map.size(), 2000);
+        assertTrue(map.containsKey(999));
+        assertFalse(map.containsKey(1000));
+        assertFalse(map.containsKey(3999));
+        assertTrue(map.containsKey(4000));
+    }
+
+    @DisplayName("Should Order Keys By Comparator")
+    @Test
+    void shouldOrderKeysByComparator() {
+        var map = new BTreeMap<String, Integer>(Comparator.reverseOrder());
+        map.put("a", 1);
+        map.put("c", 3);
+        map.put("b", 2);
+
+        var keys = new ArrayList<String>();
+        for (Map.Entry<String, Integer> entry : map) {
+            keys.add(entry.getKey());
+        }
+
+        assertEquals(keys, java.util.List.of("c", "b", "a"));
+        assertEquals(map.floorEntry("bb").getKey(), "c");
+        assertEquals(map.ceilingEntry("bb").getKey(), "b");
+    }
+
+    @DisplayName("Should Load Sorted Keys")
+    @Test
+    void shouldLoadSortedKeys() {
+        var keys = new Integer[10_000];
+        var values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 3;
+            values[i] = "val" + i;
+        }
+
+        var map = BTreeMap.ofSorted(keys, values);
+        map.put(1, "one");
+        map.remove(3);
+
+        assertEquals(map.size(), 10_000);
+        assertEquals(map.get(1), "one");
+        assertNull(map.get(3));
+        assertEquals(map.get(29_997), "val9999");
+        assertEquals(map.floorEntry(29_999).getKey(), 29_997);
+        int previous = -1;
+        for (Map.Entry<Integer, String> entry : map) {
+            assertTrue(entry.getKey() > previous);
+            previous = entry.getKey();
+        }
+    }
+
+    @DisplayName("Should Throw Exception If Load Keys That Are Not Sorted")
+    @Test
+    void shouldThrowExceptionIfLoadKeysThatAreNotSorted() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> BTreeMap.ofSorted(new Integer[]{1, 3, 2}, new String[3]));
+        assertEquals(exception.getMessage(),
+                "Keys should be sorted in ascending order without duplicates. Current key at index 2 is 2 previous key is 3");
+    }
+
+    @DisplayName("Should Match Java TreeMap After Random Operations")
+    @Test
+    void shouldMatchJavaTreeMapAfterRandomOperations() {
+        var random = new Random(22);
+        var expected = new TreeMap<Integer, Integer>();
+        var map = new BTreeMap<Integer, Integer>();
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(map.remove(key), expected.remove(key));
+            } else {
+                assertEquals(map.put(key, i), expected.put(key, i));
+            }
+        }
+
+        assertEquals(map.size(), expected.size());
+        var iterator = map.iterator();
+        for (var expectedEntry : expected.entrySet()) {
+            var entry = iterator.next();
+            assertEquals(entry.getKey(), expectedEntry.getKey());
+            assertEquals(entry.getValue(), expectedEntry.getValue());
+        }
+        assertFalse(iterator.hasNext());
+    }
+}
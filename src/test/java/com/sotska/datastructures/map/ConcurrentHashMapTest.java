@@ -0,0 +1,119 @@
+package com.sotska.datastructures.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sotska.datastructures.map.ConcurrentTestSupport.THREADS;
+import static com.sotska.datastructures.map.ConcurrentTestSupport.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentHashMapTest extends AbstractMapTest {
+
+    @Override
+    Map<String, String> getMap() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @DisplayName("Should Keep All Entries After Resize")
+    @Test
+    void shouldKeepAllEntriesAfterResize() {
+        var map = new ConcurrentHashMap<Integer, Integer>(2, 0.75);
+        for (int i = 0; i < 10_000; i++) {
+            assertNull(map.put(i, i * 2));
+        }
+
+        assertEquals(map.size(), 10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(map.get(i), i * 2);
+        }
+    }
+
+    @DisplayName("Should Put If Absent")
+    @Test
+    void shouldPutIfAbsent() {
+        var map = new ConcurrentHashMap<String, String>();
+        assertNull(map.putIfAbsent("key", "val"));
+        assertEquals(map.putIfAbsent("key", "val2"), "val");
+        assertEquals(map.get("key"), "val");
+    }
+
+    @DisplayName("Should Compute If Absent")
+    @Test
+    void shouldComputeIfAbsent() {
+        var map = new ConcurrentHashMap<String, Integer>();
+        assertEquals(map.computeIfAbsent("key", String::length), 3);
+        assertEquals(map.computeIfAbsent("key", key -> 10), 3);
+        assertNull(map.computeIfAbsent("other", key -> null));
+        assertFalse(map.containsKey("other"));
+        assertEquals(map.size(), 1);
+    }
+
+    @DisplayName("Should Put Entries From Many Threads")
+    @Test
+    void shouldPutEntriesFromManyThreads() throws Exception {
+        var map = new ConcurrentHashMap<Integer, Integer>(2, 0.75);
+        int keysPerThread = 20_000;
+
+        runConcurrently(thread -> {
+            for (int i = thread * keysPerThread; i < (thread + 1) * keysPerThread; i++) {
+                map.put(i, i);
+                assertEquals(map.get(i), i);
+            }
+        });
+
+        assertEquals(map.size(), THREADS * keysPerThread);
+        for (int i = 0; i < THREADS * keysPerThread; i++) {
+            assertEquals(map.get(i), i);
+        }
+        var visitedKeys = new HashSet<Integer>();
+        for (var entry : map) {
+            assertTrue(visitedKeys.add(entry.getKey()));
+        }
+        assertEquals(visitedKeys.size(), THREADS * keysPerThread);
+    }
+
+    @DisplayName("Should Compute Value Once Per Key From Many Threads")
+    @Test
+    void shouldComputeValueOncePerKeyFromManyThreads() throws Exception {
+        var map = new ConcurrentHashMap<Integer, Integer>(2, 0.75);
+        var computations = new AtomicInteger();
+        int keys = 10_000;
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < keys; i++) {
+                map.computeIfAbsent(i, key -> {
+                    computations.incrementAndGet();
+                    return key;
+                });
+            }
+        });
+
+        assertEquals(computations.get(), keys);
+        assertEquals(map.size(), keys);
+    }
+
+    @DisplayName("Should Remove Entries From Many Threads")
+    @Test
+    void shouldRemoveEntriesFromManyThreads() throws Exception {
+        var map = new ConcurrentHashMap<Integer, Integer>();
+        int keys = 50_000;
+        for (int i = 0; i < keys; i++) {
+            map.put(i, i);
+        }
+        var removed = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < keys; i++) {
+                if (map.remove(i) != null) {
+                    removed.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(removed.get(), keys);
+        assertEquals(map.size(), 0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.sotska.datastructures.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sotska.datastructures.map.ConcurrentTestSupport.THREADS;
+import static com.sotska.datastructures.map.ConcurrentTestSupport.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentSkipListMapTest extends AbstractMapTest {
+
+    @Override
+    Map<String, String> getMap() {
+        return new ConcurrentSkipListMap<>();
+    }
+
+    @DisplayName("Should Iterate In Ascending And Descending Key Order")
+    @Test
+    void shouldIterateInAscendingAndDescendingKeyOrder() {
+        var map = new ConcurrentSkipListMap<Integer, Integer>();
+        for (int i = 999; i >= 0; i--) {
+            map.put(i * 7 % 1000, i);
+        }
+
+        int expected = 0;
+        for (Map.Entry<Integer, Integer> entry : map) {
+            assertEquals(entry.getKey(), expected++);
+        }
+        var descending = map.descendingIterator();
+        for (int i = 999; i >= 0; i--) {
+            assertEquals(descending.next().getKey(), i);
+        }
+        assertFalse(descending.hasNext());
+        assertEquals(map.firstEntry().getKey(), 0);
+        assertEquals(map.lastEntry().getKey(), 999);
+    }
+
+    @DisplayName("Should Iterate Sub Map In Both Directions")
+    @Test
+    void shouldIterateSubMapInBothDirections() {
+        var map = new ConcurrentSkipListMap<Integer, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 2, i);
+        }
+
+        var ascendingKeys = new ArrayList<Integer>();
+        for (Map.Entry<Integer, Integer> entry : map.subMap(101, 301)) {
+            ascendingKeys.add(entry.getKey());
+        }
+        var descendingKeys = new ArrayList<Integer>();
+        for (Map.Entry<Integer, Integer> entry : map.descendingSubMap(101, 301)) {
+            descendingKeys.add(entry.getKey());
+        }
+
+        assertEquals(ascendingKeys.size(), 100);
+        assertEquals(ascendingKeys.get(0), 102);
+        assertEquals(ascendingKeys.get(99), 300);
+        assertEquals(descendingKeys.size(), 100);
+        assertEquals(descendingKeys.get(0), 300);
+        assertEquals(descendingKeys.get(99), 102);
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(10, 5));
+    }
+
+    @DisplayName("Should Order Keys By Comparator")
+    @Test
+    void shouldOrderKeysByComparator() {
+        var map = new ConcurrentSkipListMap<String, Integer>(Comparator.reverseOrder());
+        map.put("a", 1);
+        map.put("c", 3);
+        map.put("b", 2);
+
+        assertEquals(map.firstEntry().getKey(), "c");
+        assertEquals(map.lastEntry().getKey(), "a");
+    }
+
+    @DisplayName("Should Poll Entries In Key Order")
+    @Test
+    void shouldPollEntriesInKeyOrder() {
+        var map = new ConcurrentSkipListMap<Integer, String>();
+        map.put(3, "c");
+        map.put(1, "a");
+        map.put(2, "b");
+
+        assertEquals(map.pollFirst().getValue(), "a");
+        assertEquals(map.pollFirst().getKey(), 2);
+        assertEquals(map.pollFirst().getKey(), 3);
+        assertNull(map.pollFirst());
+        assertEquals(map.size(), 0);
+        assertTrue(map.isEmpty());
+    }
+
+    @DisplayName("Should Put Entries From Many Threads")
+    @Test
+    void shouldPutEntriesFromManyThreads() throws Exception {
+        var map = new ConcurrentSkipListMap<Integer, Integer>();
+        int keysPerThread = 20_000;
+
+        runConcurrently(thread -> {
+            for (int i = thread; i < THREADS * keysPerThread; i += THREADS) {
+                map.put(i, i);
+                assertEquals(map.get(i), i);
+            }
+        });
+
+        assertEquals(map.size(), THREADS * keysPerThread);
+        int expected = 0;
+        for (var entry : map) {
+            assertEquals(entry.getKey(), expected++);
+        }
+        assertEquals(expected, THREADS * keysPerThread);
+    }
+
+    @DisplayName("Should Keep Newer Value If Iterator Removes Replaced Entry")
+    @Test
+    void shouldKeepNewerValueIfIteratorRemovesReplacedEntry() {
+        var map = new ConcurrentSkipListMap<String, String>();
+        map.put("key", "old");
+        map.put("other", "value");
+        var iterator = map.iterator();
+        iterator.next();
+
+        map.put("key", "new");
+        iterator.remove();
+        iterator.next();
+        iterator.remove();
+
+        assertEquals(map.get("key"), "new");
+        assertNull(map.get("other"));
+        assertEquals(map.size(), 1);
+    }
+
+    @DisplayName("Should Remove Entries From Many Threads")
+    @Test
+    void shouldRemoveEntriesFromManyThreads() throws Exception {
+        var map = new ConcurrentSkipListMap<Integer, Integer>();
+        int keys = 50_000;
+        for (int i = 0; i < keys; i++) {
+            map.put(i, i);
+        }
+        var removed = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < keys; i++) {
+                if (map.remove(i) != null) {
+                    removed.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(removed.get(), keys);
+        assertEquals(map.size(), 0);
+        assertFalse(map.iterator().hasNext());
+    }
+
+    @DisplayName("Should Poll Every Entry Once From Many Threads")
+    @Test
+    void shouldPollEveryEntryOnceFromManyThreads() throws Exception {
+        var map = new ConcurrentSkipListMap<Integer, Integer>();
+        int keys = 50_000;
+        for (int i = 0; i < keys; i++) {
+            map.put(i, i);
+        }
+        var polledKeys = new ConcurrentLinkedQueue<Integer>();
+
+        runConcurrently(thread -> {
+            for (var entry = map.pollFirst(); entry != null; entry = map.pollFirst()) {
+                polledKeys.add(entry.getKey());
+            }
+        });
+
+        assertEquals(polledKeys.size(), keys);
+        assertEquals(new HashSet<>(polledKeys).size(), keys);
+        assertTrue(map.isEmpty());
+    }
+
+    @DisplayName("Should Keep Map Consistent Under Mixed Updates")
+    @Test
+    void shouldKeepMapConsistentUnderMixedUpdates() throws Exception {
+        var map = new ConcurrentSkipListMap<Integer, Integer>();
+        int keys = 1000;
+
+        runConcurrently(thread -> {
+            var random = ThreadLocalRandom.current();
+            for (int i = 0; i < 50_000; i++) {
+                int key = random.nextInt(keys);
+                if (random.nextBoolean()) {
+                    map.put(key, thread);
+                } else {
+                    map.remove(key);
+                }
+            }
+        });
+
+        int count = 0;
+        Integer previous = null;
+        for (var entry : map) {
+            assertTrue(previous == null || previous < entry.getKey());
+            assertTrue(map.containsKey(entry.getKey()));
+            previous = entry.getKey();
+            count++;
+        }
+        assertEquals(map.size(), count);
+    }
+}
@@ -0,0 +1,100 @@
+package com.sotska.datastructures.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatHashMapTest extends AbstractMapTest {
+
+    @Override
+    Map<String, String> getMap() {
+        return new FlatHashMap<>();
+    }
+
+    @DisplayName("Should Keep All Entries After Resize")
+    @Test
+    void shouldKeepAllEntriesAfterResize() {
+        var map = new FlatHashMap<Integer, Integer>(2);
+        for (int i = 0; i < 10_000; i++) {
+            assertNull(map.put(i, i * 2));
+        }
+
+        assertEquals(map.size(), 10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(map.get(i), i * 2);
+        }
+    }
+
+    @DisplayName("Should Find Colliding Keys After Remove")
+    @Test
+    void shouldFindCollidingKeysAfterRemove() {
+        var map = new FlatHashMap<CollidingKey, Integer>();
+        for (int i = 0; i < 10; i++) {
+            map.put(new CollidingKey(i), i);
+        }
+
+        assertEquals(map.remove(new CollidingKey(3)), 3);
+        assertEquals(map.remove(new CollidingKey(0)), 0);
+
+        assertEquals(map.size(), 8);
+        assertFalse(map.containsKey(new CollidingKey(3)));
+        assertFalse(map.containsKey(new CollidingKey(0)));
+        for (int i = 1; i < 10; i++) {
+            if (i != 3) {
+                assertEquals(map.get(new CollidingKey(i)), i);
+            }
+        }
+    }
+
+    @DisplayName("Should Put And Get Null Key")
+    @Test
+    void shouldPutAndGetNullKey() {
+        var map = new FlatHashMap<String, String>();
+        assertNull(map.put(null, "val"));
+        assertEquals(map.put(null, "val2"), "val");
+        assertEquals(map.get(null), "val2");
+        assertEquals(map.remove(null), "val2");
+        assertFalse(map.containsKey(null));
+    }
+
+    @DisplayName("Should Visit Every Entry Once While Removing Through Iterator")
+    @Test
+    void shouldVisitEveryEntryOnceWhileRemovingThroughIterator() {
+        var map = new FlatHashMap<Integer, Integer>(4);
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, i);
+        }
+
+        var visitedKeys = new HashSet<Integer>();
+        for (var iterator = map.iterator(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            assertTrue(visitedKeys.add(entry.getKey()));
+            if (entry.getKey() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(visitedKeys.size(), 1_000);
+        assertEquals(map.size(), 500);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(map.containsKey(i), i % 2 != 0);
+        }
+    }
+
+    @DisplayName("Should Throw Exception If Load Factor Is Not Less Than One")
+    @Test
+    void shouldThrowExceptionIfLoadFactorIsNotLessThanOne() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> new FlatHashMap<String, String>(16, 1));
+        assertEquals(exception.getMessage(), "Load factor should be between 0 and 1. Current load factor is 1.0");
+    }
+
+    private record CollidingKey(int id) {
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+}
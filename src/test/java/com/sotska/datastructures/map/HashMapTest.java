@@ -3,152 +3,336 @@ package com.sotska.datastructures.map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.HashSet;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-class HashMapTest {
-    private final HashMap<String, String> hashMap = new HashMap<>();
+class HashMapTest extends AbstractMapTest {
 
-    @DisplayName("Should Put Element To Map")
-    @Test
-    void shouldPutElementToMap() {
-        assertNull(hashMap.put("key", "val"));
-        assertEquals(hashMap.put("key", "val2"), "val");
-        assertEquals(hashMap.size(), 1);
-        assertEquals(hashMap.get("key"), "val2");
+    @Override
+    Map<String, String> getMap() {
+        return new HashMap<>();
     }
 
-    @DisplayName("Should Increase Number Of Buckets")
+    @DisplayName("Should Keep All Entries After Resize")
     @Test
-    void shouldIncreaseNumberOfBuckets() {
-        assertNull(hashMap.put("key", "val"));
-        assertNull(hashMap.put("key2", "val2"));
-        assertNull(hashMap.put("val", "val"));
-        assertNull(hashMap.put("val2", "val2"));
-        assertNull(hashMap.put(null, "val2"));
-        assertEquals(hashMap.size(), 5);
+    void shouldKeepAllEntriesAfterResize() {
+        var map = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 10_000; i++) {
+            assertNull(map.put(i, i * 2));
+        }
+
+        assertEquals(map.size(), 10_000);
+        assertFalse(map.isResizing());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(map.get(i), i * 2);
+        }
     }
 
-    @DisplayName("Should Return Element By Key")
+    @DisplayName("Should Replace Value Of Equal Key")
     @Test
-    void shouldReturnElementByKey() {
-        hashMap.put("key", "val");
-        assertEquals(hashMap.get("key"), "val");
+    void shouldReplaceValueOfEqualKey() {
+        var map = new HashMap<String, String>();
+        map.put(new String("key"), "val");
+
+        assertEquals(map.put(new String("key"), "val2"), "val");
+        assertEquals(map.size(), 1);
     }
 
-    @DisplayName("Should Return Null If Get Element That Not Exist")
+    @DisplayName("Should Keep All Entries During Incremental Resize")
     @Test
-    void shouldReturnNullIfGetElementThatNotExist() {
-        hashMap.put("key", "val");
-        assertNull(hashMap.get("key2"));
+    void shouldKeepAllEntriesDuringIncrementalResize() {
+        var map = new HashMap<Integer, Integer>(5, 0.75, 2, true);
+        boolean wasResizing = false;
+        for (int i = 0; i < 10_000; i++) {
+            assertNull(map.put(i, i * 2));
+            wasResizing |= map.isResizing();
+            assertEquals(map.get(i / 2), i / 2 * 2);
+        }
+
+        assertTrue(wasResizing);
+        assertEquals(map.size(), 10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(map.get(i), i * 2);
+        }
     }
 
-    @DisplayName("Should Return True If Contains Key")
+    @DisplayName("Should Remove Entries During Incremental Resize")
     @Test
-    void shouldReturnTrueIfContainsKey() {
-        hashMap.put("key", "val");
-        assertTrue(hashMap.containsKey("key"));
+    void shouldRemoveEntriesDuringIncrementalResize() {
+        var map = new HashMap<Integer, Integer>(64, 0.75, 2, true);
+        for (int i = 0; i < 49; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isResizing());
+
+        for (int i = 0; i < 49; i += 2) {
+            assertEquals(map.remove(i), i);
+        }
+
+        assertEquals(map.size(), 24);
+        for (int i = 0; i < 49; i++) {
+            assertEquals(map.containsKey(i), i % 2 != 0);
+        }
     }
 
-    @DisplayName("Should Return False If Not Contains Key")
+    @DisplayName("Should Finish Incremental Resize After Enough Updates")
     @Test
-    void shouldReturnFalseIfNotContainsKey() {
-        hashMap.put("key", "val");
-        assertFalse(hashMap.containsKey("key2"));
+    void shouldFinishIncrementalResizeAfterEnoughUpdates() {
+        var map = new HashMap<Integer, Integer>(64, 0.75, 2, true);
+        for (int i = 0; i < 49; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isResizing());
+
+        for (int i = 0; i < 16; i++) {
+            map.put(i, -i);
+        }
+
+        assertFalse(map.isResizing());
+        assertEquals(map.size(), 49);
     }
 
-    @DisplayName("Should Remove Element")
+    @DisplayName("Should Iterate Through Both Bucket Arrays During Incremental Resize")
     @Test
-    void shouldRemoveElement() {
-        hashMap.put("key", "val");
-        assertEquals(hashMap.remove("key"), "val");
-        assertFalse(hashMap.containsKey("key"));
+    void shouldIterateThroughBothBucketArraysDuringIncrementalResize() {
+        var map = new HashMap<Integer, Integer>(64, 0.75, 2, true);
+        for (int i = 0; i < 60; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isResizing());
+
+        var visitedKeys = new HashSet<Integer>();
+        for (var iterator = map.iterator(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            assertTrue(visitedKeys.add(entry.getKey()));
+            assertEquals(map.get(entry.getKey()), entry.getValue());
+            if (entry.getKey() % 3 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(visitedKeys.size(), 60);
+        assertEquals(map.size(), 40);
     }
 
-    @DisplayName("Should Return Null If Remove Element That Not Exist")
+    @DisplayName("Should Put All Entries During Incremental Resize")
     @Test
-    void shouldReturnNullIfRemoveElementThatNotExist() {
-        assertNull(hashMap.remove("key"));
+    void shouldPutAllEntriesDuringIncrementalResize() {
+        var map = new HashMap<Integer, Integer>(4, 0.75, 2, true);
+        for (int i = 0; i < 4; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isResizing());
+        var other = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            other.put(i, i * 10);
+        }
+
+        map.putAll(other);
+
+        assertEquals(map.size(), 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(map.get(i), i * 10);
+        }
     }
 
-    @DisplayName("Should Return Size Of Map")
+    @DisplayName("Should Report Sized Only Before Spliterator Is Split")
     @Test
-    void shouldReturnSizeOfMap() {
-        hashMap.put("key", "val");
-        assertEquals(hashMap.size(), 1);
+    void shouldReportSizedOnlyBeforeSpliteratorIsSplit() {
+        var map = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        var suffix = map.spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(suffix.estimateSize(), 100L);
+        var prefix = suffix.trySplit();
+
+        assertFalse(prefix.hasCharacteristics(Spliterator.SIZED));
+        assertFalse(suffix.hasCharacteristics(Spliterator.SIZED));
+        long prefixCount = StreamSupport.stream(prefix, false).count();
+        long suffixCount = StreamSupport.stream(suffix, false).count();
+        assertEquals(prefixCount + suffixCount, 100L);
     }
 
-    @DisplayName("Should Return Size Of Empty Map")
+    @DisplayName("Should Put All Entries If Grow Factor Is One")
     @Test
-    void shouldReturnSizeOfEmptyMap() {
-        assertEquals(hashMap.size(), 0);
+    void shouldPutAllEntriesIfGrowFactorIsOne() {
+        var map = new HashMap<Integer, Integer>(1, 0.75, 1);
+        var other = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100; i++) {
+            other.put(i, i);
+        }
+
+        map.putAll(other);
+
+        assertEquals(map.size(), 100);
+        assertEquals(map.get(99), 99);
     }
 
-    @DisplayName("Should Iterate Through Map")
+    @DisplayName("Should Resize Step By Step If Put All Overflows Incremental Map")
     @Test
-    void shouldIterateThroughMap() {
-        var expectedKeys = Set.of("key", "key2");
-        var expectedValues = Set.of("val", "val2");
+    void shouldResizeStepByStepIfPutAllOverflowsIncrementalMap() {
+        var map = new HashMap<Integer, Integer>(64, 0.75, 2, true);
+        for (int i = 0; i < 48; i++) {
+            map.put(i, i);
+        }
+        assertFalse(map.isResizing());
+        var other = new HashMap<Integer, Integer>();
+        other.put(48, 48);
+        other.put(49, 49);
+
+        map.putAll(other);
 
-        hashMap.put("key", "val");
-        hashMap.put("key2", "val2");
-        var iterator = hashMap.iterator();
+        assertTrue(map.isResizing());
+        assertEquals(map.size(), 50);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(map.get(i), i);
+        }
+    }
+
+    @DisplayName("Should Get And Remove Large Batches During Incremental Resize")
+    @Test
+    void shouldGetAndRemoveLargeBatchesDuringIncrementalResize() {
+        var map = new HashMap<Integer, Integer>(4, 0.75, 2, true);
+        int count = 0;
+        while (count < 500 || !map.isResizing()) {
+            map.put(count, count);
+            count++;
+        }
+        var keys = new Integer[count + 10];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+        }
+        var values = new Integer[keys.length];
 
-        assertTrue(iterator.hasNext());
-        var firstElement = iterator.next();
-        assertTrue(iterator.hasNext());
-        var secondElement = iterator.next();
-        assertFalse(iterator.hasNext());
+        map.getAll(keys, values);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(values[i], i < count ? Integer.valueOf(i) : null);
+        }
 
-        assertEquals(Set.of(firstElement.getKey(), secondElement.getKey()), expectedKeys);
-        assertEquals(Set.of(firstElement.getValue(), secondElement.getValue()), expectedValues);
+        assertEquals(map.removeAll(keys), count);
+        assertEquals(map.size(), 0);
+        assertFalse(map.iterator().hasNext());
     }
 
-    @DisplayName("Should Remove Element While Iterate Through Map")
+    @DisplayName("Should Keep Colliding Comparable Keys")
     @Test
-    void shouldRemoveElementWhileIterateThroughMap() {
-        hashMap.put("key2", "val2");
-        var iterator = hashMap.iterator();
-        assertTrue(iterator.hasNext());
+    void shouldKeepCollidingComparableKeys() {
+        var map = new HashMap<ComparableCollidingKey, Integer>(128, 0.75, 2);
+        for (int i = 0; i < 1000; i++) {
+            assertNull(map.put(new ComparableCollidingKey(i), i));
+        }
+        assertEquals(map.put(new ComparableCollidingKey(500), -1), 500);
 
-        var nextElement = iterator.next();
-        assertEquals(nextElement.getKey(), "key2");
-        assertEquals(nextElement.getValue(), "val2");
-        iterator.remove();
-        assertFalse(hashMap.containsKey("key2"));
-        assertEquals(hashMap.size(), 0);
+        assertEquals(map.size(), 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(map.get(new ComparableCollidingKey(i)), i == 500 ? -1 : i);
+        }
+        assertNull(map.get(new ComparableCollidingKey(1000)));
     }
 
-    @DisplayName("Should Throw Exception If No Such Elements")
+    @DisplayName("Should Remove Colliding Keys Until Chain Is Short Again")
     @Test
-    void shouldThrowExceptionIfNoSuchElements() {
-        var expectedKeys = Set.of("key", "key2");
-        var expectedValues = Set.of("val", "val2");
+    void shouldRemoveCollidingKeysUntilChainIsShortAgain() {
+        var map = new HashMap<CollidingKey, Integer>(128, 0.75, 2);
+        for (int i = 0; i < 100; i++) {
+            map.put(new CollidingKey(i), i);
+        }
 
-        hashMap.put("key", "val");
-        hashMap.put("key2", "val2");
+        for (int i = 0; i < 98; i++) {
+            assertEquals(map.remove(new CollidingKey(i)), i);
+            assertFalse(map.containsKey(new CollidingKey(i)));
+            assertEquals(map.get(new CollidingKey(99)), 99);
+        }
 
-        var iterator = hashMap.iterator();
-        assertTrue(iterator.hasNext());
-        var firstElement = iterator.next();
-        assertTrue(iterator.hasNext());
-        var secondElement = iterator.next();
-        assertFalse(iterator.hasNext());
-        assertEquals(Set.of(firstElement.getKey(), secondElement.getKey()), expectedKeys);
-        assertEquals(Set.of(firstElement.getValue(), secondElement.getValue()), expectedValues);
+        assertEquals(map.size(), 2);
+        assertEquals(map.get(new CollidingKey(98)), 98);
+        assertNull(map.remove(new CollidingKey(0)));
+    }
 
-        var exception = assertThrows(NoSuchElementException.class, iterator::next);
-        assertEquals(exception.getMessage(), "No such element at map.");
+    @DisplayName("Should Iterate And Remove Colliding Keys During Incremental Resize")
+    @Test
+    void shouldIterateAndRemoveCollidingKeysDuringIncrementalResize() {
+        var map = new HashMap<Object, Integer>(64, 0.75, 2, true);
+        int count = 0;
+        while (count < 300 || !map.isResizing()) {
+            Object key = count % 2 == 0 ? new ComparableCollidingKey(count) : new CollidingKey(count);
+            map.put(key, count);
+            count++;
+        }
+
+        var visitedValues = new HashSet<Integer>();
+        for (var iterator = map.iterator(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            assertTrue(visitedValues.add(entry.getValue()));
+            if (entry.getValue() % 3 != 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(visitedValues.size(), count);
+        for (int i = 0; i < count; i++) {
+            Object key = i % 2 == 0 ? new ComparableCollidingKey(i) : new CollidingKey(i);
+            assertEquals(map.get(key), i % 3 == 0 ? Integer.valueOf(i) : null);
+        }
     }
 
-    @DisplayName("Should Throw Exception If Remove Element In Iterator Without Call Next")
+    @DisplayName("Should Split Spliterator Over Both Bucket Arrays During Incremental Resize")
     @Test
-    void shouldThrowExceptionIfRemoveElementInIteratorWithoutCallNext() {
-        var iterator = hashMap.iterator();
+    void shouldSplitSpliteratorOverBothBucketArraysDuringIncrementalResize() {
+        var map = new HashMap<Integer, Integer>(4, 0.75, 2, true);
+        int count = 0;
+        while (count < 200 || !map.isResizing()) {
+            map.put(count, count);
+            count++;
+        }
+
+        var suffix = map.spliterator();
+        var prefix = suffix.trySplit();
+        var visitedKeys = new HashSet<Integer>();
+        prefix.forEachRemaining(entry -> assertTrue(visitedKeys.add(entry.getKey())));
+        suffix.forEachRemaining(entry -> assertTrue(visitedKeys.add(entry.getKey())));
+
+        assertEquals(visitedKeys.size(), count);
+        assertEquals(map.parallelStream().mapToLong(Map.Entry::getValue).sum(), (long) count * (count - 1) / 2);
+    }
+
+    private static class CollidingKey {
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    private static class ComparableCollidingKey extends CollidingKey implements Comparable<ComparableCollidingKey> {
+        ComparableCollidingKey(int id) {
+            super(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ComparableCollidingKey && ((ComparableCollidingKey) o).id == id;
+        }
 
-        var exception = assertThrows(IllegalStateException.class, iterator::remove);
-        assertEquals(exception.getMessage(), "Have no element to remove.");
+        @Override
+        public int compareTo(ComparableCollidingKey other) {
+            return Integer.compare(id, other.id);
+        }
     }
-}
\ No newline at end of file
+}
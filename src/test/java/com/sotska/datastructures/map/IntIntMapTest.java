@@ -0,0 +1,103 @@
+package com.sotska.datastructures.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTest {
+    private final IntIntMap map = new IntIntMap();
+
+    @DisplayName("Should Put Element To Map")
+    @Test
+    void shouldPutElementToMap() {
+        assertEquals(map.put(1, 10), 0);
+        assertEquals(map.put(1, 20), 10);
+        assertEquals(map.size(), 1);
+        assertEquals(map.get(1), 20);
+    }
+
+    @DisplayName("Should Return No Entry Value If Key Not Exist")
+    @Test
+    void shouldReturnNoEntryValueIfKeyNotExist() {
+        var mapWithSentinel = new IntIntMap(16, 0.5, -1);
+        mapWithSentinel.put(1, 10);
+
+        assertEquals(mapWithSentinel.get(2), -1);
+        assertEquals(mapWithSentinel.remove(2), -1);
+        assertEquals(mapWithSentinel.put(2, 20), -1);
+        assertEquals(mapWithSentinel.getOrDefault(3, 42), 42);
+        assertEquals(mapWithSentinel.getNoEntryValue(), -1);
+    }
+
+    @DisplayName("Should Put, Get And Remove Zero Key")
+    @Test
+    void shouldPutGetAndRemoveZeroKey() {
+        assertFalse(map.containsKey(0));
+        map.put(0, 5);
+
+        assertTrue(map.containsKey(0));
+        assertEquals(map.get(0), 5);
+        assertEquals(map.size(), 1);
+        assertEquals(map.remove(0), 5);
+        assertFalse(map.containsKey(0));
+        assertEquals(map.size(), 0);
+    }
+
+    @DisplayName("Should Remove Element")
+    @Test
+    void shouldRemoveElement() {
+        map.put(1, 10);
+        map.put(2, 20);
+
+        assertEquals(map.remove(1), 10);
+        assertFalse(map.containsKey(1));
+        assertTrue(map.containsKey(2));
+        assertEquals(map.size(), 1);
+    }
+
+    @DisplayName("Should Keep All Entries After Resize And Removes")
+    @Test
+    void shouldKeepAllEntriesAfterResizeAndRemoves() {
+        for (int i = -5_000; i < 5_000; i++) {
+            map.put(i * 1024, i);
+        }
+        for (int i = -5_000; i < 5_000; i += 3) {
+            assertEquals(map.remove(i * 1024), i);
+        }
+
+        for (int i = -5_000; i < 5_000; i++) {
+            assertEquals(map.containsKey(i * 1024), (i + 5_000) % 3 != 0);
+            if ((i + 5_000) % 3 != 0) {
+                assertEquals(map.get(i * 1024), i);
+            }
+        }
+    }
+
+    @DisplayName("Should Visit Every Entry In For Each")
+    @Test
+    void shouldVisitEveryEntryInForEach() {
+        map.put(0, 1);
+        map.put(7, 8);
+        map.put(-3, -2);
+        var visited = new HashMap<Integer, Integer>();
+
+        map.forEach(visited::put);
+
+        assertEquals(visited, java.util.Map.of(0, 1, 7, 8, -3, -2));
+    }
+
+    @DisplayName("Should Clear Map")
+    @Test
+    void shouldClearMap() {
+        map.put(0, 1);
+        map.put(7, 8);
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(7));
+    }
+}
@@ -0,0 +1,84 @@
+package com.sotska.datastructures.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+    private final LongObjectMap<String> map = new LongObjectMap<>();
+
+    @DisplayName("Should Put Element To Map")
+    @Test
+    void shouldPutElementToMap() {
+        assertNull(map.put(1L, "val"));
+        assertEquals(map.put(1L, "val2"), "val");
+        assertEquals(map.size(), 1);
+        assertEquals(map.get(1L), "val2");
+    }
+
+    @DisplayName("Should Return No Entry Value If Key Not Exist")
+    @Test
+    void shouldReturnNoEntryValueIfKeyNotExist() {
+        var mapWithSentinel = new LongObjectMap<>(16, 0.5, "none");
+
+        assertEquals(mapWithSentinel.get(2L), "none");
+        assertEquals(mapWithSentinel.remove(2L), "none");
+        assertEquals(mapWithSentinel.put(2L, "val"), "none");
+        assertEquals(mapWithSentinel.get(2L), "val");
+    }
+
+    @DisplayName("Should Put, Get And Remove Zero Key")
+    @Test
+    void shouldPutGetAndRemoveZeroKey() {
+        map.put(0L, "zero");
+
+        assertTrue(map.containsKey(0L));
+        assertEquals(map.get(0L), "zero");
+        assertEquals(map.remove(0L), "zero");
+        assertFalse(map.containsKey(0L));
+        assertEquals(map.size(), 0);
+    }
+
+    @DisplayName("Should Keep All Entries After Resize And Removes")
+    @Test
+    void shouldKeepAllEntriesAfterResizeAndRemoves() {
+        for (long i = 1; i <= 10_000; i++) {
+            map.put(i << 32, String.valueOf(i));
+        }
+        for (long i = 1; i <= 10_000; i += 2) {
+            assertEquals(map.remove(i << 32), String.valueOf(i));
+        }
+
+        assertEquals(map.size(), 5_000);
+        for (long i = 1; i <= 10_000; i++) {
+            assertEquals(map.get(i << 32), i % 2 == 0 ? String.valueOf(i) : null);
+        }
+    }
+
+    @DisplayName("Should Visit Every Entry In For Each")
+    @Test
+    void shouldVisitEveryEntryInForEach() {
+        map.put(0L, "a");
+        map.put(Long.MAX_VALUE, "b");
+        map.put(-1L, "c");
+        var visited = new HashMap<Long, String>();
+
+        map.forEach(visited::put);
+
+        assertEquals(visited, java.util.Map.of(0L, "a", Long.MAX_VALUE, "b", -1L, "c"));
+    }
+
+    @DisplayName("Should Clear Map")
+    @Test
+    void shouldClearMap() {
+        map.put(0L, "a");
+        map.put(5L, "b");
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5L));
+    }
+}
@@ -0,0 +1,164 @@
+package com.sotska.datastructures.map;
+
+import com.sotska.datastructures.codec.Codecs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedHashMapTest {
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("Should Read Entries From Snapshot")
+    @Test
+    void shouldReadEntriesFromSnapshot() throws IOException {
+        var map = new HashMap<Integer, String>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, "value" + i);
+        }
+        var file = directory.resolve("map.snapshot");
+        MappedHashMap.write(map, file, Codecs.INTEGER, Codecs.STRING);
+
+        try (var snapshot = MappedHashMap.open(file, Codecs.INTEGER, Codecs.STRING)) {
+            assertEquals(snapshot.size(), 10_000);
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(snapshot.get(i), "value" + i);
+            }
+            assertNull(snapshot.get(10_000));
+            assertFalse(snapshot.containsKey(-1));
+        }
+    }
+
+    @DisplayName("Should Keep Null Key And Null Values")
+    @Test
+    void shouldKeepNullKeyAndNullValues() throws IOException {
+        var map = new HashMap<String, String>();
+        map.put(null, "val");
+        map.put("key", null);
+        map.put("", "empty");
+        var file = directory.resolve("map.snapshot");
+        MappedHashMap.write(map, file, Codecs.STRING, Codecs.STRING);
+
+        try (var snapshot = MappedHashMap.open(file, Codecs.STRING, Codecs.STRING)) {
+            assertEquals(snapshot.get(null), "val");
+            assertTrue(snapshot.containsKey("key"));
+            assertNull(snapshot.get("key"));
+            assertEquals(snapshot.get(""), "empty");
+            assertEquals(snapshot.size(), 3);
+        }
+    }
+
+    @DisplayName("Should Iterate Through Snapshot")
+    @Test
+    void shouldIterateThroughSnapshot() throws IOException {
+        var map = new HashMap<String, Long>();
+        map.put(null, 0L);
+        map.put("one", 1L);
+        map.put("two", 2L);
+        var file = directory.resolve("map.snapshot");
+        MappedHashMap.write(map, file, Codecs.STRING, Codecs.LONG);
+
+        try (var snapshot = MappedHashMap.open(file, Codecs.STRING, Codecs.LONG)) {
+            var keys = new HashSet<String>();
+            for (var entry : snapshot) {
+                keys.add(entry.getKey());
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            assertEquals(keys.size(), 3);
+            assertTrue(keys.contains(null));
+        }
+    }
+
+    @DisplayName("Should Read Snapshot Written To Channel")
+    @Test
+    void shouldReadSnapshotWrittenToChannel() throws IOException {
+        var map = new HashMap<Integer, String>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, "value" + i);
+        }
+        map.put(null, "null");
+        var output = new ByteArrayOutputStream();
+        MappedHashMap.write(map, Channels.newChannel(output), Codecs.INTEGER, Codecs.STRING);
+        var bytes = output.toByteArray();
+
+        var snapshot = MappedHashMap.read(Channels.newChannel(new ByteArrayInputStream(bytes)), Codecs.INTEGER, Codecs.STRING);
+        var buffer = ByteBuffer.allocateDirect(bytes.length + 8).put(new byte[8]).put(bytes).position(8);
+        var wrapped = MappedHashMap.wrap(buffer, Codecs.INTEGER, Codecs.STRING);
+
+        assertEquals(snapshot.size(), 10_001);
+        assertEquals(wrapped.size(), 10_001);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(snapshot.get(i), "value" + i);
+            assertEquals(wrapped.get(i), "value" + i);
+        }
+        assertEquals(wrapped.get(null), "null");
+        assertFalse(wrapped.containsKey(10_000));
+        int iterated = 0;
+        for (var ignored : snapshot) {
+            iterated++;
+        }
+        assertEquals(iterated, 10_001);
+    }
+
+    @DisplayName("Should Throw Exception If Buffer Is Not Snapshot")
+    @Test
+    void shouldThrowExceptionIfBufferIsNotSnapshot() throws IOException {
+        var exception = assertThrows(IOException.class,
+                () -> MappedHashMap.wrap(ByteBuffer.allocate(128), Codecs.STRING, Codecs.STRING));
+        assertEquals(exception.getMessage(), "Data is not a map snapshot.");
+
+        var output = new ByteArrayOutputStream();
+        MappedHashMap.write(new HashMap<String, String>(), Channels.newChannel(output), Codecs.STRING, Codecs.STRING);
+        var bytes = output.toByteArray();
+        assertThrows(IOException.class,
+                () -> MappedHashMap.wrap(ByteBuffer.wrap(bytes, 0, bytes.length - 1), Codecs.STRING, Codecs.STRING));
+    }
+
+    @DisplayName("Should Throw Exception On Update")
+    @Test
+    void shouldThrowExceptionOnUpdate() throws IOException {
+        var file = directory.resolve("map.snapshot");
+        MappedHashMap.write(new HashMap<String, String>(), file, Codecs.STRING, Codecs.STRING);
+
+        try (var snapshot = MappedHashMap.open(file, Codecs.STRING, Codecs.STRING)) {
+            assertEquals(snapshot.size(), 0);
+            var exception = assertThrows(UnsupportedOperationException.class, () -> snapshot.put("key", "val"));
+            assertEquals(exception.getMessage(), "Snapshot is read only.");
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.remove("key"));
+        }
+    }
+
+    @DisplayName("Should Throw Exception If File Is Not Snapshot")
+    @Test
+    void shouldThrowExceptionIfFileIsNotSnapshot() throws IOException {
+        var file = directory.resolve("other.bin");
+        Files.write(file, new byte[128]);
+
+        var exception = assertThrows(IOException.class, () -> MappedHashMap.open(file, Codecs.STRING, Codecs.STRING));
+        assertEquals(exception.getMessage(), "File " + file + " is not a map snapshot.");
+    }
+
+    @DisplayName("Should Throw Exception If Snapshot Is Closed")
+    @Test
+    void shouldThrowExceptionIfSnapshotIsClosed() throws IOException {
+        var file = directory.resolve("map.snapshot");
+        MappedHashMap.write(new HashMap<String, String>(), file, Codecs.STRING, Codecs.STRING);
+        var snapshot = MappedHashMap.open(file, Codecs.STRING, Codecs.STRING);
+        snapshot.close();
+
+        var exception = assertThrows(IllegalStateException.class, () -> snapshot.get("key"));
+        assertEquals(exception.getMessage(), "Map is closed.");
+    }
+}
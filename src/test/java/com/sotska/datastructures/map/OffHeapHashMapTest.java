@@ -0,0 +1,101 @@
+package com.sotska.datastructures.map;
+
+import com.sotska.datastructures.codec.Codecs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapHashMapTest extends AbstractMapTest {
+
+    @Override
+    Map<String, String> getMap() {
+        return new OffHeapHashMap<>(Codecs.STRING, Codecs.STRING);
+    }
+
+    @DisplayName("Should Keep All Entries After Resize")
+    @Test
+    void shouldKeepAllEntriesAfterResize() {
+        try (var map = new OffHeapHashMap<>(Codecs.INTEGER, Codecs.STRING, 2, 0.75, 256)) {
+            for (int i = 0; i < 10_000; i++) {
+                assertNull(map.put(i, "value" + i));
+            }
+
+            assertEquals(map.size(), 10_000);
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(map.get(i), "value" + i);
+            }
+        }
+    }
+
+    @DisplayName("Should Reclaim Space Of Replaced Values")
+    @Test
+    void shouldReclaimSpaceOfReplacedValues() {
+        try (var map = new OffHeapHashMap<>(Codecs.INTEGER, Codecs.LONG, 16, 0.75, 1024)) {
+            for (int round = 0; round < 1_000; round++) {
+                for (int i = 0; i < 10; i++) {
+                    map.put(i, (long) round);
+                }
+            }
+
+            assertEquals(map.size(), 10);
+            assertTrue(map.getOffHeapBytes() < 16 * 1024);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(map.get(i), 999L);
+            }
+        }
+    }
+
+    @DisplayName("Should Store Null Values And Records Larger Than Page")
+    @Test
+    void shouldStoreNullValuesAndRecordsLargerThanPage() {
+        try (var map = new OffHeapHashMap<>(Codecs.STRING, Codecs.STRING, 16, 0.75, 64)) {
+            var largeValue = "x".repeat(1_000);
+            map.put("null", null);
+            map.put("large", largeValue);
+
+            assertTrue(map.containsKey("null"));
+            assertNull(map.get("null"));
+            assertEquals(map.get("large"), largeValue);
+        }
+    }
+
+    @DisplayName("Should Visit Every Entry Once While Removing Through Iterator")
+    @Test
+    void shouldVisitEveryEntryOnceWhileRemovingThroughIterator() {
+        try (var map = new OffHeapHashMap<>(Codecs.INTEGER, Codecs.INTEGER, 4, 0.75, 4096)) {
+            for (int i = 0; i < 1_000; i++) {
+                map.put(i, i);
+            }
+            map.put(null, -1);
+
+            var visitedKeys = new HashSet<Integer>();
+            for (var iterator = map.iterator(); iterator.hasNext(); ) {
+                var entry = iterator.next();
+                assertTrue(visitedKeys.add(entry.getKey()));
+                if (entry.getKey() == null || entry.getKey() % 2 == 0) {
+                    iterator.remove();
+                }
+            }
+
+            assertEquals(visitedKeys.size(), 1_001);
+            assertEquals(map.size(), 500);
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(map.containsKey(i), i % 2 != 0);
+            }
+        }
+    }
+
+    @DisplayName("Should Throw Exception If Map Is Closed")
+    @Test
+    void shouldThrowExceptionIfMapIsClosed() {
+        var map = new OffHeapHashMap<>(Codecs.STRING, Codecs.STRING);
+        map.put("key", "val");
+        map.close();
+
+        var exception = assertThrows(IllegalStateException.class, () -> map.get("key"));
+        assertEquals(exception.getMessage(), "Map is closed.");
+    }
+}
@@ -0,0 +1,226 @@
+package com.sotska.datastructures.map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    @DisplayName("Should Put Entries Without Changing Previous Versions")
+    @Test
+    void shouldPutEntriesWithoutChangingPreviousVersions() {
+        var empty = PersistentHashMap.<Integer, Integer>empty();
+        var map = empty;
+        PersistentHashMap<Integer, Integer> version1000 = null;
+        for (int i = 0; i < 20_000; i++) {
+            map = map.with(i, i * 2);
+            if (i == 999) {
+                version1000 = map;
+            }
+        }
+
+        assertTrue(empty.isEmpty());
+        assertEquals(map.size(), 20_000);
+        assertEquals(version1000.size(), 1000);
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals(map.get(i), i * 2);
+        }
+        assertTrue(version1000.containsKey(999));
+        assertFalse(version1000.containsKey(1000));
+    }
+
+    @DisplayName("Should Replace And Remove Values In New Version Only")
+    @Test
+    void shouldReplaceAndRemoveValuesInNewVersionOnly() {
+        var map = PersistentHashMap.<String, String>empty().with("a", "1").with("b", "2").with("c", "3");
+
+        var changed = map.with("a", "10").without("b").without("missing");
+
+        assertEquals(changed.size(), 2);
+        assertEquals(changed.get("a"), "10");
+        assertNull(changed.get("b"));
+        assertEquals(map.size(), 3);
+        assertEquals(map.get("a"), "1");
+        assertEquals(map.get("b"), "2");
+        assertSame(map.without("missing"), map);
+        assertSame(map.with("a", "1"), map);
+    }
+
+    @DisplayName("Should Keep Null Key And Null Values")
+    @Test
+    void shouldKeepNullKeyAndNullValues() {
+        var map = PersistentHashMap.<String, String>empty().with(null, "null").with("a", null);
+
+        assertEquals(map.size(), 2);
+        assertEquals(map.get(null), "null");
+        assertTrue(map.containsKey("a"));
+        assertNull(map.get("a"));
+        var keys = new HashSet<String>();
+        for (Map.Entry<String, String> entry : map) {
+            keys.add(entry.getKey());
+        }
+        assertEquals(keys, new HashSet<>(java.util.Arrays.asList(null, "a")));
+        assertEquals(map.without(null).size(), 1);
+        assertFalse(map.without(null).containsKey(null));
+    }
+
+    @DisplayName("Should Keep Keys With Same Hash")
+    @Test
+    void shouldKeepKeysWithSameHash() {
+        var map = PersistentHashMap.<CollidingKey, Integer>empty();
+        for (int i = 0; i < 20; i++) {
+            map = map.with(new CollidingKey(i), i);
+        }
+        var withoutSome = map;
+        for (int i = 0; i < 20; i += 2) {
+            withoutSome = withoutSome.without(new CollidingKey(i));
+        }
+
+        assertEquals(map.size(), 20);
+        assertEquals(withoutSome.size(), 10);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(map.get(new CollidingKey(i)), i);
+            assertEquals(withoutSome.containsKey(new CollidingKey(i)), i % 2 == 1);
+        }
+        var other = map.with(new CollidingKey(100, 8), 100);
+        assertEquals(other.get(new CollidingKey(100, 8)), 100);
+        assertEquals(other.get(new CollidingKey(3)), 3);
+    }
+
+    @DisplayName("Should Match Java HashMap After Random Operations")
+    @Test
+    void shouldMatchJavaHashMapAfterRandomOperations() {
+        var random = new Random(21);
+        var expected = new java.util.HashMap<Integer, Integer>();
+        var map = PersistentHashMap.<Integer, Integer>empty();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                expected.put(key, i);
+                map = map.with(key, i);
+            }
+        }
+
+        assertEquals(map.size(), expected.size());
+        int iterated = 0;
+        for (Map.Entry<Integer, Integer> entry : map) {
+            assertEquals(entry.getValue(), expected.get(entry.getKey()));
+            iterated++;
+        }
+        assertEquals(iterated, expected.size());
+    }
+
+    @DisplayName("Should Build Map With Builder")
+    @Test
+    void shouldBuildMapWithBuilder() {
+        var builder = PersistentHashMap.<Integer, Integer>builder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.put(i, i);
+        }
+        var first = builder.build();
+        for (int i = 0; i < 10_000; i += 2) {
+            builder.remove(i);
+        }
+        for (int i = 10_000; i < 15_000; i++) {
+            builder.put(i, i);
+        }
+        var second = builder.build();
+
+        assertEquals(first.size(), 10_000);
+        assertEquals(second.size(), 10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(first.get(i), i);
+            assertEquals(second.containsKey(i), i % 2 == 1);
+        }
+        for (int i = 10_000; i < 15_000; i++) {
+            assertFalse(first.containsKey(i));
+            assertEquals(second.get(i), i);
+        }
+    }
+
+    @DisplayName("Should Not Change Source Map When Continue It In Builder")
+    @Test
+    void shouldNotChangeSourceMapWhenContinueItInBuilder() {
+        var map = PersistentHashMap.<String, Integer>empty().with("a", 1).with("b", 2);
+
+        var built = map.toBuilder().put("c", 3).remove("a").put("b", 20).build();
+
+        assertEquals(map.size(), 2);
+        assertEquals(map.get("a"), 1);
+        assertEquals(map.get("b"), 2);
+        assertFalse(map.containsKey("c"));
+        assertEquals(built.size(), 2);
+        assertEquals(built.get("b"), 20);
+        assertEquals(built.get("c"), 3);
+    }
+
+    @DisplayName("Should Publish Consistent Snapshots To Readers")
+    @Test
+    void shouldPublishConsistentSnapshotsToReaders() throws InterruptedException {
+        var published = new AtomicReference<>(PersistentHashMap.<Integer, Integer>empty());
+        var stop = new AtomicBoolean();
+        var failed = new AtomicBoolean();
+        var reader = new Thread(() -> {
+            while (!stop.get()) {
+                var snapshot = published.get();
+                int size = snapshot.size();
+                // writer adds keys 0..n-1 in order, so a snapshot of size n has exactly these keys
+                if (size > 0 && (!snapshot.containsKey(size - 1) || snapshot.containsKey(size))) {
+                    failed.set(true);
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            published.set(published.get().with(i, i));
+        }
+        stop.set(true);
+        reader.join();
+
+        assertFalse(failed.get());
+        assertEquals(published.get().size(), 20_000);
+    }
+
+    @DisplayName("Should Throw Exception If Mutate Map")
+    @Test
+    void shouldThrowExceptionIfMutateMap() {
+        var map = PersistentHashMap.<String, String>empty().with("a", "b");
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put("c", "d"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        assertEquals(map.size(), 1);
+    }
+
+    private static class CollidingKey {
+        private final int id;
+        private final int hash;
+
+        private CollidingKey(int id) {
+            this(id, 7);
+        }
+
+        private CollidingKey(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CollidingKey key && key.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
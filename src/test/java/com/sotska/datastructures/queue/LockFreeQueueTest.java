@@ -0,0 +1,113 @@
+package com.sotska.datastructures.queue;
+
+import com.sotska.datastructures.list.ArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockFreeQueueTest {
+
+    private final LockFreeQueue<String> queue = new LockFreeQueue<>();
+
+    @DisplayName("Should Poll Elements In Offer Order")
+    @Test
+    void shouldPollElementsInOfferOrder() {
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        queue.offer("one");
+        queue.offer("two");
+        queue.offer("three");
+
+        assertEquals(queue.size(), 3);
+        assertEquals(queue.peek(), "one");
+        assertEquals(queue.poll(), "one");
+        assertEquals(queue.poll(), "two");
+        assertEquals(queue.poll(), "three");
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        assertTrue(queue.isEmpty());
+    }
+
+    @DisplayName("Should Drain Elements In Batches")
+    @Test
+    void shouldDrainElementsInBatches() {
+        for (int i = 0; i < 10; i++) {
+            queue.offer(String.valueOf(i));
+        }
+        var target = new ArrayList<String>();
+
+        assertEquals(queue.drainTo(target, 4), 4);
+        assertEquals(queue.poll(), "4");
+        assertEquals(queue.drainTo(target), 5);
+        assertEquals(queue.drainTo(target), 0);
+
+        assertEquals(target.toString(), "[0, 1, 2, 3, 5, 6, 7, 8, 9]");
+        queue.offer("10");
+        assertEquals(queue.poll(), "10");
+    }
+
+    @DisplayName("Should Throw Exception If Offer Null")
+    @Test
+    void shouldThrowExceptionIfOfferNull() {
+        var exception = assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertEquals(exception.getMessage(), "Queue does not accept null elements.");
+    }
+
+    @DisplayName("Should Deliver Every Element Once To Concurrent Consumers")
+    @Test
+    void shouldDeliverEveryElementOnceToConcurrentConsumers() throws InterruptedException {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        var numbers = new LockFreeQueue<Integer>();
+        var seen = new AtomicIntegerArray(total);
+        var done = new CountDownLatch(producers + consumers);
+        var consumed = new AtomicInteger();
+
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    numbers.offer(offset + i);
+                }
+                done.countDown();
+            }).start();
+        }
+        for (int c = 0; c < consumers; c++) {
+            boolean batching = c % 2 == 0;
+            new Thread(() -> {
+                var batch = new ArrayList<Integer>();
+                while (consumed.get() < total) {
+                    if (batching) {
+                        batch.clear();
+                        int count = numbers.drainTo(batch, 64);
+                        for (int i = 0; i < count; i++) {
+                            seen.incrementAndGet(batch.get(i));
+                        }
+                        consumed.addAndGet(count);
+                    } else {
+                        var value = numbers.poll();
+                        if (value != null) {
+                            seen.incrementAndGet(value);
+                            consumed.incrementAndGet();
+                        }
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(seen.get(i), 1);
+        }
+        assertTrue(numbers.isEmpty());
+    }
+}